@@ -0,0 +1,59 @@
+package benchmark;
+
+import internal.Parser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterBenchmark {
+
+    private char[] characters;
+
+    @Setup
+    public void setUp() {
+        characters = ("record-id item_name:value price.total2 ÄÖÜ-straße ελληνικά 名前 données-clé").toCharArray();
+    }
+
+    @Benchmark
+    public int table() {
+        int result = 0;
+        for (char c : characters) {
+            if (Parser.isCharacter(c)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int ranges() {
+        int result = 0;
+        for (char c : characters) {
+            if (isCharacter(c)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    // the range checks used before the lookup tables were introduced
+    private static boolean isStartCharacter(int c) {
+        return c == ':' || 0x41 <= c && c <= 0x5a || c == '_' || 0x61 <= c && c <= 0x7a || 0xC0 <= c && c <= 0xD6 ||
+                0xD8 <= c && c <= 0xF6 || 0xF8 <= c && c <= 0x2FF || 0x370 <= c && c <= 0x37D ||
+                0x37F <= c && c <= 0x1FFF || 0x200C <= c && c <= 0x200D || 0x2070 <= c && c <= 0x218F ||
+                0x2C00 <= c && c <= 0x2FEF || 0x3001 <= c && c <= 0xD7FF || 0xF900 <= c && c <= 0xFDCF ||
+                0xFDF0 <= c && c <= 0xFFFD || 0x010000 <= c && c <= 0x0EFFFF;
+    }
+
+    private static boolean isCharacter(int c) {
+        return c == '-' || c == '.' || 0x30 <= c && c <= 0x39 || c == 0xb7 || 0x0300 <= c && c <= 0x036f ||
+                0x203f <= c && c <= 0x2040 || isStartCharacter(c);
+    }
+
+}
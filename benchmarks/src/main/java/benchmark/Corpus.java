@@ -0,0 +1,97 @@
+package benchmark;
+
+import main.Element;
+
+/**
+ * The documents the corpus benchmarks run on. Each corpus is built through the element API, so the same tree can be
+ * used for the build, serialize and parse benchmarks. Attribute values only contain name characters, because the
+ * parser reads them as names.
+ */
+public enum Corpus {
+
+    /**
+     * A small configuration file with a few sections and settings.
+     */
+    SMALL_CONFIG {
+        @Override
+        public Element build() {
+            Element root = new Element("configuration").addAttribute("version", "v2");
+            for (int i = 0; i < 5; i++) {
+                Element section = new Element("section").addAttribute("name", "section" + i);
+                for (int j = 0; j < 6; j++) {
+                    section.addChild(new Element("setting", "value " + j).addAttribute("key", "key" + j));
+                }
+                root.addChild(section);
+            }
+            return root;
+        }
+    },
+
+    /**
+     * A flat document with many small sibling elements below the root.
+     */
+    WIDE {
+        @Override
+        public Element build() {
+            Element root = new Element("rows");
+            for (int i = 0; i < 50000; i++) {
+                root.addChild(new Element("row", Integer.toString(i)).addAttribute("id", "r" + i));
+            }
+            return root;
+        }
+    },
+
+    /**
+     * A document that consists of a single chain of nested elements.
+     */
+    DEEP {
+        @Override
+        public Element build() {
+            Element root = new Element("level");
+            Element current = root;
+            for (int i = 1; i < 1000; i++) {
+                Element child = new Element("level").addAttribute("depth", "d" + i);
+                current.addChild(child);
+                current = child;
+            }
+            current.addChild("bottom");
+            return root;
+        }
+    },
+
+    /**
+     * A document whose elements carry many attributes but no text.
+     */
+    ATTRIBUTES {
+        @Override
+        public Element build() {
+            Element root = new Element("items");
+            for (int i = 0; i < 5000; i++) {
+                Element item = new Element("item");
+                for (int j = 0; j < 20; j++) {
+                    item.addAttribute("attribute" + j, "value" + (i + j));
+                }
+                root.addChild(item);
+            }
+            return root;
+        }
+    },
+
+    /**
+     * A document with long paragraphs of text, some of which need escaping.
+     */
+    TEXT {
+        @Override
+        public Element build() {
+            String sentence = "The quick brown fox jumps over the lazy dog & the \"cat\" sleeps <soundly>. ";
+            Element root = new Element("article");
+            for (int i = 0; i < 2000; i++) {
+                root.addChild(new Element("paragraph", sentence.repeat(25)));
+            }
+            return root;
+        }
+    };
+
+    public abstract Element build();
+
+}
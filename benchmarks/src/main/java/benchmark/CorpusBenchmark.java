@@ -0,0 +1,60 @@
+package benchmark;
+
+import main.Document;
+import main.Element;
+import main.ParseException;
+import main.ParserContext;
+import main.SimpleXmlParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param
+    private Corpus corpus;
+
+    private Document document;
+    private byte[] bytes;
+
+    // a context must not be shared between threads
+    @State(Scope.Thread)
+    public static class Context {
+
+        private final ParserContext context = new ParserContext();
+    }
+
+    @Setup
+    public void setUp() {
+        document = SimpleXmlParser.createXml();
+        document.addRoot(corpus.build());
+        bytes = document.toBytes();
+    }
+
+    @Benchmark
+    public Document parse() throws ParseException {
+        return SimpleXmlParser.parse(bytes);
+    }
+
+    @Benchmark
+    public Document parseContext(Context context) throws ParseException {
+        return context.context.parse(bytes);
+    }
+
+    @Benchmark
+    public Element build() {
+        return corpus.build();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return document.toBytes();
+    }
+
+}
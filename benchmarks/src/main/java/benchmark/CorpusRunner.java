@@ -0,0 +1,30 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the corpus benchmarks with the gc profiler and writes the results as JSON to {@code corpus.json}, so that the
+ * throughput, the allocation rate and the latency percentiles of two releases can be compared. Run it with
+ * {@code java -cp benchmarks.jar benchmark.CorpusRunner [JMH options]}, e.g. {@code -wi 1 -i 3} for a shorter run.
+ */
+public class CorpusRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CorpusBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("corpus.json")
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,29 @@
+package benchmark;
+
+import main.Element;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained heap size of an element tree with about one million elements. Run it with
+ * {@code java -cp benchmarks.jar benchmark.FootprintBenchmark}.
+ */
+public class FootprintBenchmark {
+
+    public static void main(String[] args) {
+        Element root = new Element("root");
+        for (int i = 0; i < 1000; i++) {
+            Element group = new Element("group").addAttribute("id", "group" + i);
+            for (int j = 0; j < 1000; j++) {
+                Element item = new Element("item");
+                if (j % 2 == 0) {
+                    item.addAttribute("id", "item" + j).addChild("value" + j);
+                }
+                group.addChild(item);
+            }
+            root.addChild(group);
+        }
+        GraphLayout layout = GraphLayout.parseInstance(root);
+        System.out.printf("%d objects, %d bytes%n", layout.totalCount(), layout.totalSize());
+    }
+
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import main.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"1000"})
+    private int groups;
+
+    private Element root;
+
+    @Setup
+    public void setUp() {
+        root = new Element("root");
+        for (int i = 0; i < groups; i++) {
+            Element group = new Element("group").addAttribute("id", "group" + i);
+            for (int j = 0; j < 100; j++) {
+                group.addChild(new Element(j % 10 == 0 ? "special" : "item"));
+            }
+            root.addChild(group);
+        }
+        root.addChild(new Element("last"));
+    }
+
+    @Benchmark
+    public Element firstChildLinear() {
+        for (Element child : root.getChildElements()) {
+            if (child.getName().equals("last")) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Element firstChildIndexed() {
+        return root.getFirstChild("last");
+    }
+
+    @Benchmark
+    public List<Element> descendantsRecursive() {
+        List<Element> result = new ArrayList<>();
+        collect(root, "special", result);
+        return result;
+    }
+
+    @Benchmark
+    public List<Element> descendantsIndexed() {
+        return root.getDescendants("special");
+    }
+
+    private static void collect(Element element, String name, List<Element> result) {
+        for (Element child : element.getChildElements()) {
+            if (child.getName().equals(name)) {
+                result.add(child);
+            }
+            collect(child, name, result);
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import main.Document;
+import main.Element;
+import main.Handler;
+import main.ParseException;
+import main.ParseOptions;
+import main.PathQuery;
+import main.Projection;
+import main.SimpleXmlParser;
+import main.XmlEventReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"40000"})
+    private int records;
+
+    private Path file;
+    private Handler handler = new Handler() {
+    };
+    private Projection projection = new Projection().include("/records/record[@id='id7']");
+    private PathQuery query = PathQuery.compile("/records/record[@id='id7']/name/text()");
+
+    @Setup
+    public void setUp() throws IOException {
+        Element root = new Element("records");
+        for (int i = 0; i < records; i++) {
+            Element record = new Element("record").addAttribute("id", "id" + i).addAttribute("active");
+            record.addChild(new Element("name", "Record number " + i + " with some descriptive text"));
+            record.addChild(new Element("value", Integer.toString(i * 31)));
+            root.addChild(record);
+        }
+        Document document = SimpleXmlParser.createXml();
+        document.addRoot(root);
+        file = Files.createTempFile("benchmark", ".xml");
+        document.toXml(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public Document parse() throws ParseException {
+        return SimpleXmlParser.parse(file);
+    }
+
+    @Benchmark
+    public Document parseMapped() throws ParseException {
+        return SimpleXmlParser.parse(file, new ParseOptions().memoryMapped(true));
+    }
+
+    @Benchmark
+    public Document parseParallel() throws ParseException {
+        return SimpleXmlParser.parse(file, new ParseOptions().parallelism(Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Benchmark
+    public String parseLazy() throws ParseException {
+        return SimpleXmlParser.parse(file, new ParseOptions().lazy(true)).getRoot().getChildElements().get(0)
+                .getAttributes().get("id");
+    }
+
+    @Benchmark
+    public Document parseProjection() throws ParseException {
+        return SimpleXmlParser.parse(file, projection);
+    }
+
+    @Benchmark
+    public List<String> queryDocument() throws ParseException {
+        return query.evaluate(SimpleXmlParser.parse(file));
+    }
+
+    @Benchmark
+    public List<String> queryStreaming() throws ParseException, IOException {
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(file)) {
+            return query.evaluate(reader);
+        }
+    }
+
+    @Benchmark
+    public void parseHandler() throws ParseException {
+        SimpleXmlParser.parse(file, handler);
+    }
+
+    @Benchmark
+    public void parseHandlerMapped() throws ParseException {
+        SimpleXmlParser.parse(file, handler, new ParseOptions().memoryMapped(true));
+    }
+
+}
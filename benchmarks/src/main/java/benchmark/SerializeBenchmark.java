@@ -0,0 +1,85 @@
+package benchmark;
+
+import main.Document;
+import main.Element;
+import main.OutputProfile;
+import main.SimpleXmlParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializeBenchmark {
+
+    @Param({"40000"})
+    private int records;
+
+    @Param({"PRETTY", "COMPACT"})
+    private OutputProfile profile;
+
+    private Document document;
+    private Path file;
+
+    // reports the serialized bytes per second next to the operations per second, their ratio is the output size
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Element root = new Element("records");
+        for (int i = 0; i < records; i++) {
+            Element record = new Element("record").addAttribute("id", "id" + i).addAttribute("active");
+            record.addChild(new Element("name", "Record number " + i + " with <some> descriptive & escaped text"));
+            record.addChild(new Element("value", Integer.toString(i * 31)));
+            root.addChild(record);
+        }
+        document = SimpleXmlParser.createXml();
+        document.addRoot(root);
+        document.setOutputProfile(profile);
+        file = Files.createTempFile("benchmark", ".xml");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void toXml() throws IOException {
+        document.toXml(file);
+    }
+
+    @Benchmark
+    public byte[] toBytes(Output output) {
+        byte[] result = document.toBytes();
+        output.bytes += result.length;
+        return result;
+    }
+
+    @Benchmark
+    public void toXmlPrintWriter() {
+        PrintWriter printWriter = new PrintWriter(Writer.nullWriter());
+        document.getRoot().toXml(printWriter, 0);
+        printWriter.flush();
+    }
+
+}
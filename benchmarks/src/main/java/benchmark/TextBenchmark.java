@@ -0,0 +1,28 @@
+package benchmark;
+
+import main.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextBenchmark {
+
+    @Param({"100000"})
+    private int fragments;
+
+    @Benchmark
+    public String appendFragments() {
+        Element element = new Element("text");
+        for (int i = 0; i < fragments; i++) {
+            element.addChild("fragment ");
+        }
+        return element.getChildTexts().get(0);
+    }
+
+}
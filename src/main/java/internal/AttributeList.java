@@ -0,0 +1,155 @@
+package internal;
+
+import main.Attributes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+public class AttributeList implements Attributes {
+
+    private String[] keys;
+    private String[] values;
+    private int size;
+    private boolean alphabetical;
+
+    public AttributeList() {
+        this(8);
+    }
+
+    public AttributeList(int capacity) {
+        keys = new String[capacity];
+        values = new String[capacity];
+    }
+
+    public void add(String key, String value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+            values = Arrays.copyOf(values, Math.max(2, size * 2));
+        }
+        // alphabetical attributes are inserted at their sorted position, so that reading them never modifies the list
+        int position = alphabetical ? -index - 1 : size;
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(values, position, values, position + 1, size - position);
+        keys[position] = key;
+        values[position] = value;
+        size++;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    public void setAlphabetical(boolean alphabetical) {
+        if (alphabetical && !this.alphabetical) {
+            // the insertion order of the existing attributes is lost
+            for (int i = 1; i < size; i++) {
+                String key = keys[i];
+                String value = values[i];
+                int j = i - 1;
+                while (j >= 0 && keys[j].compareTo(key) > 0) {
+                    keys[j + 1] = keys[j];
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                values[j + 1] = value;
+            }
+        }
+        this.alphabetical = alphabetical;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getKey(int index) {
+        Objects.checkIndex(index, size);
+        return keys[index];
+    }
+
+    @Override
+    public String getValue(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public String get(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public Map<String, String> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, String>> iterator() {
+                        return new Iterator<>() {
+                            private int index;
+
+                            @Override
+                            public boolean hasNext() {
+                                return index < size;
+                            }
+
+                            @Override
+                            public Entry<String, String> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                Entry<String, String> result = Map.entry(keys[index], values[index]);
+                                index++;
+                                return result;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+
+            @Override
+            public String get(Object key) {
+                return key instanceof String string ? AttributeList.this.get(string) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+        };
+    }
+
+    // returns the index of the key or, if the attributes are alphabetical and the key is missing, -(insertion point) - 1
+    private int indexOf(String key) {
+        if (alphabetical) {
+            return Arrays.binarySearch(keys, 0, size, key);
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
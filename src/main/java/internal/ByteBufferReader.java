@@ -0,0 +1,120 @@
+package internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+public class ByteBufferReader extends Reader {
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private ByteBuffer bytes;
+    private List<ByteBuffer> following = List.of();
+    private int index;
+    private int pending = -1;
+
+    public ByteBufferReader(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    public ByteBufferReader(List<ByteBuffer> buffers) {
+        bytes = buffers.isEmpty() ? ByteBuffer.allocate(0) : buffers.get(0);
+        following = buffers.subList(Math.min(1, buffers.size()), buffers.size());
+    }
+
+    // prepares the reader for a new input, so that its decoder can be reused
+    public void reset(ByteBuffer bytes) {
+        this.bytes = bytes;
+        following = List.of();
+        index = 0;
+        pending = -1;
+    }
+
+    // returns the buffer following the current one or null at the end of the input, UTF-8 sequences must not be
+    // split between two buffers
+    protected ByteBuffer next() throws IOException {
+        return index < following.size() ? following.get(index++) : null;
+    }
+
+    @Override
+    public int read(char[] characters, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, characters.length);
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pending >= 0) {
+            characters[offset] = (char) pending;
+            pending = -1;
+            count++;
+        }
+        while (count < length) {
+            if (!bytes.hasRemaining()) {
+                ByteBuffer next = next();
+                if (next == null) {
+                    break;
+                }
+                bytes = next;
+                continue;
+            }
+            // ASCII bytes are copied directly, only runs of other bytes go through the decoder
+            int position = bytes.position();
+            int limit = bytes.limit();
+            int index = offset + count;
+            int end = offset + length;
+            while (index < end && position < limit) {
+                byte b = bytes.get(position);
+                if (b < 0) {
+                    break;
+                }
+                characters[index++] = (char) b;
+                position++;
+            }
+            bytes.position(position);
+            count = index - offset;
+            if (index < end && position < limit) {
+                count += decode(characters, index, end - index);
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    private int decode(char[] characters, int offset, int length) throws IOException {
+        int limit = bytes.limit();
+        int runEnd = bytes.position();
+        while (runEnd < limit && bytes.get(runEnd) < 0) {
+            runEnd++;
+        }
+        CharBuffer output = CharBuffer.wrap(characters, offset, length);
+        bytes.limit(runEnd);
+        try {
+            decoder.reset();
+            CoderResult result = decoder.decode(bytes, output, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (output.position() == offset && result.isOverflow()) {
+                // a surrogate pair does not fit into the remaining space, so its second half is kept for later
+                CharBuffer pair = CharBuffer.allocate(2);
+                decoder.reset();
+                decoder.decode(bytes, pair, true);
+                characters[offset] = pair.get(0);
+                pending = pair.get(1);
+                return 1;
+            }
+        } finally {
+            bytes.limit(limit);
+        }
+        return output.position() - offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        bytes = ByteBuffer.allocate(0);
+    }
+}
@@ -0,0 +1,44 @@
+package internal;
+
+import java.io.Reader;
+import java.util.Objects;
+
+public class CharSequenceReader extends Reader {
+
+    private CharSequence characters;
+    private int position;
+
+    public CharSequenceReader(CharSequence characters) {
+        this.characters = characters;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        int count = Math.min(length, characters.length() - position);
+        if (count <= 0) {
+            return -1;
+        }
+        // strings and string builders copy whole blocks, other sequences are copied character by character
+        if (characters instanceof String string) {
+            string.getChars(position, position + count, buffer, offset);
+        } else if (characters instanceof StringBuilder stringBuilder) {
+            stringBuilder.getChars(position, position + count, buffer, offset);
+        } else {
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = characters.charAt(position + i);
+            }
+        }
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        characters = "";
+        position = 0;
+    }
+}
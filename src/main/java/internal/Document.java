@@ -1,11 +1,20 @@
 package internal;
 
 import main.Element;
+import main.OutputProfile;
 
-import java.io.FileWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Objects;
 
 public class Document implements main.Document {
 
@@ -13,6 +22,7 @@ public class Document implements main.Document {
     public final static String XML_DOCTYPE = "<?xml version=\"1.0\" ?>";
     private Element root;
     private String declaration;
+    private OutputProfile outputProfile = OutputProfile.PRETTY;
 
     public enum Type {
         HTML,
@@ -33,16 +43,57 @@ public class Document implements main.Document {
 
     @Override
     public void toXml(Path file) throws IOException {
-        try (PrintWriter printWriter = new PrintWriter(new FileWriter(file.toFile()))) {
-            printWriter.println(declaration);
-            if (root != null) {
-                root.toXml(printWriter, 0);
-            }
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            toXml(stream);
         }
     }
 
+    @Override
+    public void toXml(OutputStream stream) throws IOException {
+        toXml(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void toXml(Writer writer) throws IOException {
+        XmlWriter xmlWriter = new XmlWriter(writer);
+        xmlWriter.setCompact(outputProfile == OutputProfile.COMPACT);
+        xmlWriter.write(declaration);
+        xmlWriter.newLine();
+        if (root != null) {
+            xmlWriter.write(root, 0);
+        }
+        xmlWriter.flush();
+    }
+
+    @Override
+    public void toXml(WritableByteChannel channel) throws IOException {
+        toXml(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+    }
+
+    @Override
+    public byte[] toBytes() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            toXml(stream);
+        } catch (IOException e) {
+            // a byte array stream does not throw
+            throw new UncheckedIOException(e);
+        }
+        return stream.toByteArray();
+    }
+
     @Override
     public Element getRoot() {
         return root;
     }
+
+    @Override
+    public void setOutputProfile(OutputProfile outputProfile) {
+        this.outputProfile = Objects.requireNonNull(outputProfile);
+    }
+
+    @Override
+    public OutputProfile getOutputProfile() {
+        return outputProfile;
+    }
 }
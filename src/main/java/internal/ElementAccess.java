@@ -0,0 +1,45 @@
+package internal;
+
+import main.Element;
+
+import java.util.function.Consumer;
+
+public abstract class ElementAccess {
+
+    private static ElementAccess instance;
+
+    public static ElementAccess get() {
+        if (instance == null) {
+            try {
+                // the accessor is registered by the static initializer of Element
+                Class.forName(Element.class.getName(), true, Element.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return instance;
+    }
+
+    public static void set(ElementAccess access) {
+        if (instance != null) {
+            throw new IllegalStateException("Element accessor is already set");
+        }
+        instance = access;
+    }
+
+    public abstract Element createElement(String name);
+
+    public abstract Element createElement(String name, Consumer<Element> loader);
+
+    public abstract void addAttribute(Element element, String key, String value);
+
+    public abstract void addChild(Element element, Element child);
+
+    public abstract void addText(Element element, String text);
+
+    public abstract AttributeList getAttributes(Element element);
+
+    public abstract int getChildCount(Element element);
+
+    public abstract Node getChild(Element element, int index);
+}
@@ -0,0 +1,192 @@
+package internal;
+
+import main.AttributeOrder;
+import main.Document;
+import main.Element;
+import main.ParseException;
+import main.ParseOptions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LazyParser {
+
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+    private static final byte[] DECLARATION = (internal.Document.XML_DOCTYPE + "\n").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PLACEHOLDER = "<_ />".getBytes(StandardCharsets.UTF_8);
+
+    private final ParseOptions options;
+    private ByteBuffer input;
+    // all elements in document order: the offset of the start tag, the offset after the end tag and the number of
+    // elements in the subtree
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] sizes = new int[64];
+    private int count;
+
+    public LazyParser(ParseOptions options) {
+        this.options = options;
+    }
+
+    public Document parse(Path file) throws ParseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            if (channel.size() <= Integer.MAX_VALUE) {
+                return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+        return new Parser().parse(file, options);
+    }
+
+    public Document parse(ByteBuffer bytes) throws ParseException {
+        input = bytes.slice();
+        if (!index()) {
+            // the sequential parser reports the exact position of an error
+            return new Parser().parse(Parser.newReader(bytes), options);
+        }
+        // the input before the root element is checked with a placeholder root
+        ByteBuffer prolog = input.slice(0, starts[0]);
+        Document result = new Parser().parse(new ByteBufferReader(List.of(prolog, ByteBuffer.wrap(PLACEHOLDER))),
+                options);
+        result.addRoot(createElement(0));
+        return result;
+    }
+
+    // returns false if the tags are not balanced or the root element is not the only content
+    private boolean index() {
+        int[] stack = new int[16];
+        int depth = 0;
+        boolean rootClosed = false;
+        int limit = input.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = input.get(i);
+            if (b != '<') {
+                if (rootClosed && !Parser.isWhitespaceCharacter(b)) {
+                    return false;
+                }
+                continue;
+            }
+            if (i + 1 == limit || rootClosed) {
+                return false;
+            }
+            byte next = input.get(i + 1);
+            int tagEnd = i + 1;
+            byte last = next;
+            while (tagEnd < limit && input.get(tagEnd) != '>') {
+                if ((input.get(tagEnd) & 0xFF) > ' ') {
+                    last = input.get(tagEnd);
+                }
+                tagEnd++;
+            }
+            if (tagEnd == limit) {
+                return false;
+            }
+            if (next == '?' || next == '!') {
+                if (count > 0) {
+                    return false;
+                }
+            } else if (next == '/') {
+                if (depth == 0) {
+                    return false;
+                }
+                int element = stack[--depth];
+                ends[element] = tagEnd + 1;
+                sizes[element] = count - element;
+                rootClosed = depth == 0;
+            } else {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    sizes = Arrays.copyOf(sizes, count * 2);
+                }
+                int element = count++;
+                starts[element] = i;
+                if (last == '/') {
+                    ends[element] = tagEnd + 1;
+                    sizes[element] = 1;
+                    rootClosed = depth == 0;
+                } else {
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = element;
+                }
+            }
+            i = tagEnd;
+        }
+        return rootClosed;
+    }
+
+    private Element createElement(int index) {
+        int start = starts[index] + 1;
+        int end = start;
+        while (end < ends[index]) {
+            byte b = input.get(end);
+            if ((b & 0xFF) <= ' ' || b == '/' || b == '>') {
+                break;
+            }
+            end++;
+        }
+        byte[] name = new byte[end - start];
+        input.get(start, name);
+        Element result = ELEMENT_ACCESS.createElement(new String(name, StandardCharsets.UTF_8),
+                element -> load(element, index));
+        if (options.getAttributeOrder() != AttributeOrder.ALPHABETICAL) {
+            result.setAttributeOrder(options.getAttributeOrder());
+        }
+        return result;
+    }
+
+    private void load(Element element, int index) {
+        // the child elements are replaced by placeholders, so only the element's own tags and texts are parsed
+        List<ByteBuffer> segments = new ArrayList<>();
+        segments.add(ByteBuffer.wrap(DECLARATION));
+        int position = starts[index];
+        for (int child = index + 1; child < index + sizes[index]; child += sizes[child]) {
+            segments.add(input.slice(position, starts[child] - position));
+            segments.add(ByteBuffer.wrap(PLACEHOLDER));
+            position = ends[child];
+        }
+        segments.add(input.slice(position, ends[index] - position));
+        Parser parser = new Parser();
+        parser.open(new ByteBufferReader(segments));
+        int depth = 0;
+        int child = index + 1;
+        try {
+            while (true) {
+                switch (parser.next()) {
+                    case START_ELEMENT -> {
+                        depth++;
+                        if (depth == 2) {
+                            ELEMENT_ACCESS.addChild(element, createElement(child));
+                            child += sizes[child];
+                        }
+                    }
+                    case ATTRIBUTE -> {
+                        if (depth == 1) {
+                            ELEMENT_ACCESS.addAttribute(element, parser.getName(), parser.getValue());
+                        }
+                    }
+                    case TEXT -> ELEMENT_ACCESS.addText(element, parser.getText());
+                    case END_ELEMENT -> depth--;
+                    case END_DOCUMENT -> {
+                        return;
+                    }
+                    case START_DOCUMENT -> {
+                    }
+                }
+            }
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid XML structure in element " + element.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedReader extends ByteBufferReader {
+
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long windowSize;
+    private long offset;
+
+    public MappedReader(Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    public MappedReader(Path file, long windowSize) throws IOException {
+        super(ByteBuffer.allocate(0));
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    protected ByteBuffer next() throws IOException {
+        long size = channel.size();
+        if (offset >= size) {
+            return null;
+        }
+        // files larger than a single mapping are mapped window by window
+        int length = (int) Math.min(windowSize, size - offset);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        if (offset + length < size) {
+            // a window ends before the first byte of a possibly incomplete UTF-8 sequence
+            int end = length;
+            while (end > 0 && (window.get(end - 1) & 0xC0) == 0x80) {
+                end--;
+            }
+            if (end > 0 && window.get(end - 1) < 0) {
+                end--;
+            }
+            if (end > 0) {
+                length = end;
+            }
+        }
+        window.limit(length);
+        offset += length;
+        return window;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        channel.close();
+    }
+}
@@ -0,0 +1,314 @@
+package internal;
+
+import main.Document;
+import main.Element;
+import main.ParseException;
+import main.ParseOptions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class ParallelParser {
+
+    private static final long MINIMUM_CHUNK_SIZE = 1L << 20;
+    // a chunk is mapped as a single buffer
+    private static final long MAXIMUM_CHUNK_SIZE = Integer.MAX_VALUE - 8;
+    private static final long WINDOW_SIZE = 1L << 30;
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+    private static final byte[] DECLARATION = internal.Document.XML_DOCTYPE.getBytes(StandardCharsets.UTF_8);
+
+    private final ParseOptions options;
+    private final long minimumChunkSize;
+    private final long maximumChunkSize;
+
+    private interface Source {
+
+        long size() throws IOException;
+
+        ByteBuffer get(long offset, long length) throws IOException;
+    }
+
+    private enum State {
+        TEXT,
+        TAG,
+        START_TAG,
+        END_TAG,
+        PROLOG
+    }
+
+    public ParallelParser(ParseOptions options) {
+        this(options, MINIMUM_CHUNK_SIZE);
+    }
+
+    public ParallelParser(ParseOptions options, long minimumChunkSize) {
+        this(options, minimumChunkSize, MAXIMUM_CHUNK_SIZE);
+    }
+
+    public ParallelParser(ParseOptions options, long minimumChunkSize, long maximumChunkSize) {
+        this.options = options;
+        this.minimumChunkSize = minimumChunkSize;
+        this.maximumChunkSize = maximumChunkSize;
+    }
+
+    public Document parse(Path file) throws ParseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Document result = parse(new Source() {
+                @Override
+                public long size() throws IOException {
+                    return channel.size();
+                }
+
+                @Override
+                public ByteBuffer get(long offset, long length) throws IOException {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                }
+            });
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+        // the sequential parser reports the exact position of an error
+        return new Parser().parse(file, options);
+    }
+
+    public Document parse(ByteBuffer bytes) throws ParseException {
+        ByteBuffer input = bytes.slice();
+        try {
+            Document result = parse(new Source() {
+                @Override
+                public long size() {
+                    return input.remaining();
+                }
+
+                @Override
+                public ByteBuffer get(long offset, long length) {
+                    return input.slice((int) offset, (int) length);
+                }
+            });
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+        return new Parser().parse(Parser.newReader(bytes), options);
+    }
+
+    // returns null if the input cannot be split or one of its chunks is invalid
+    private Document parse(Source source) throws IOException {
+        long size = source.size();
+        long chunkSize = Math.min(maximumChunkSize, Math.max(minimumChunkSize, size / (4L * options.getParallelism())));
+        long[] cuts = new long[16];
+        int cutCount = 0;
+        State state = State.TEXT;
+        int depth = 0;
+        long tagStart = -1, rootStart = -1, rootNameEnd = -1, contentStart = -1, contentEnd = -1, lastCut = -1;
+        // the start of the last child of the root, where a chunk can end if the next child would make it too large
+        long childStart = -1;
+        byte last = 0;
+        // the pre-scan only follows the tags, the chunks are checked by parsing them
+        for (long windowStart = 0; windowStart < size; windowStart += WINDOW_SIZE) {
+            ByteBuffer window = source.get(windowStart, Math.min(WINDOW_SIZE, size - windowStart));
+            int limit = window.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = window.get(i);
+                long offset = windowStart + i;
+                switch (state) {
+                    case TEXT -> {
+                        if (b == '<') {
+                            tagStart = offset;
+                            state = State.TAG;
+                        } else if (contentEnd >= 0 && !Parser.isWhitespaceCharacter(b)) {
+                            return null;
+                        }
+                    }
+                    case TAG -> {
+                        if (b == '?' || b == '!') {
+                            if (rootStart >= 0) {
+                                return null;
+                            }
+                            state = State.PROLOG;
+                        } else if (b == '/') {
+                            state = State.END_TAG;
+                        } else {
+                            if (depth == 0) {
+                                if (rootStart >= 0) {
+                                    return null;
+                                }
+                                rootStart = tagStart;
+                            } else if (depth == 1) {
+                                if (tagStart - lastCut > maximumChunkSize) {
+                                    if (childStart <= lastCut || tagStart - childStart > maximumChunkSize) {
+                                        return null;
+                                    }
+                                    cuts = addCut(cuts, cutCount++, childStart);
+                                    lastCut = childStart;
+                                }
+                                if (tagStart - lastCut >= chunkSize) {
+                                    cuts = addCut(cuts, cutCount++, tagStart);
+                                    lastCut = tagStart;
+                                }
+                                childStart = tagStart;
+                            }
+                            last = b;
+                            state = State.START_TAG;
+                        }
+                    }
+                    case START_TAG -> {
+                        if (depth == 0 && rootNameEnd < 0 && ((b & 0xFF) <= ' ' || b == '>' || b == '/')) {
+                            rootNameEnd = offset;
+                        }
+                        if (b == '>') {
+                            if (last != '/') {
+                                depth++;
+                                if (depth == 1) {
+                                    contentStart = offset + 1;
+                                    lastCut = contentStart;
+                                    if (contentStart > maximumChunkSize) {
+                                        return null;
+                                    }
+                                }
+                            } else if (depth == 0) {
+                                return null;
+                            }
+                            state = State.TEXT;
+                        } else if ((b & 0xFF) > ' ') {
+                            last = b;
+                        }
+                    }
+                    case END_TAG -> {
+                        if (b == '>') {
+                            depth--;
+                            if (depth < 0) {
+                                return null;
+                            }
+                            if (depth == 0) {
+                                contentEnd = tagStart;
+                                if (contentEnd - lastCut > maximumChunkSize) {
+                                    if (childStart <= lastCut || contentEnd - childStart > maximumChunkSize) {
+                                        return null;
+                                    }
+                                    cuts = addCut(cuts, cutCount++, childStart);
+                                    lastCut = childStart;
+                                }
+                                if (offset - tagStart != rootNameEnd - rootStart + 1) {
+                                    return null;
+                                }
+                            }
+                            state = State.TEXT;
+                        }
+                    }
+                    case PROLOG -> {
+                        if (b == '>') {
+                            state = State.TEXT;
+                        }
+                    }
+                }
+            }
+        }
+        if (state != State.TEXT || contentEnd < 0 || cutCount == 0) {
+            return null;
+        }
+        byte[] name = toArray(source.get(rootStart + 1, rootNameEnd - rootStart - 1));
+        if (!Arrays.equals(name, toArray(source.get(contentEnd + 2, name.length)))) {
+            return null;
+        }
+        byte[] open = concat(DECLARATION, new byte[]{'\n', '<'}, name, new byte[]{'>'});
+        byte[] close = concat(new byte[]{'<', '/'}, name, new byte[]{'>'});
+
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+        List<ForkJoinTask<Element>> tasks = new ArrayList<>(cutCount + 1);
+        try {
+            for (int i = 0; i <= cutCount; i++) {
+                long start = i == 0 ? contentStart : cuts[i - 1];
+                long end = i == cutCount ? contentEnd : cuts[i];
+                ByteBuffer chunk = source.get(start, end - start);
+                tasks.add(pool.submit(() -> parseChunk(open, chunk, close)));
+            }
+            // the root with its attributes is parsed from the input before the first chunk
+            Document result;
+            try {
+                result = parse(toArray(source.get(0, contentStart)), ByteBuffer.allocate(0), close);
+            } catch (ParseException e) {
+                return null;
+            }
+            Element root = result.getRoot();
+            for (ForkJoinTask<Element> task : tasks) {
+                Element chunkRoot = task.join();
+                if (chunkRoot == null) {
+                    return null;
+                }
+                // the chunk's children are added in document order, as the sequential parser would add them
+                for (int i = 0; i < ELEMENT_ACCESS.getChildCount(chunkRoot); i++) {
+                    Node child = ELEMENT_ACCESS.getChild(chunkRoot, i);
+                    if (child.getType() == Node.Type.TEXT) {
+                        root.addChild(((Text) child).getText());
+                    } else {
+                        root.addChild((Element) child);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            // the remaining chunks are not needed after an invalid chunk was found
+            for (ForkJoinTask<Element> task : tasks) {
+                task.cancel(true);
+            }
+            pool.shutdownNow();
+        }
+    }
+
+    private Document parse(byte[] head, ByteBuffer chunk, byte[] tail) throws ParseException {
+        Reader reader = new ByteBufferReader(List.of(ByteBuffer.wrap(head), chunk, ByteBuffer.wrap(tail)));
+        return new Parser().parse(reader, options);
+    }
+
+    // returns null if the chunk is invalid
+    private Element parseChunk(byte[] head, ByteBuffer chunk, byte[] tail) {
+        try {
+            return parse(head, chunk, tail).getRoot();
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static long[] addCut(long[] cuts, int cutCount, long cut) {
+        if (cutCount == cuts.length) {
+            cuts = Arrays.copyOf(cuts, cutCount * 2);
+        }
+        cuts[cutCount] = cut;
+        return cuts;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        int length = 0;
+        for (byte[] array : arrays) {
+            length += array.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
+        }
+        return result;
+    }
+}
@@ -1,22 +1,58 @@
 package internal;
 
+import main.AttributeOrder;
 import main.Document;
 import main.Element;
+import main.Handler;
 import main.ParseException;
+import main.ParseOptions;
 import main.SimpleXmlParser;
+import main.XmlEventReader;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.EmptyStackException;
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 public class Parser {
 
-    private int current, column, line, backupCurrent, backupColumn, backupLine;
-    private BufferedReader bufferedReader;
-    private Stack<Element> elements = new Stack<>();
+    private static final int BUFFER_SIZE = 16384;
+    private static final int MAXIMUM_RETAINED_BUFFER_SIZE = BUFFER_SIZE * 64;
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+    // one bit per BMP character, supplementary code points are checked against the ranges directly
+    private static final long[] START_CHARACTERS = new long[1024];
+    private static final long[] CHARACTERS = new long[1024];
+
+    static {
+        for (int c = 0; c <= 0xFFFF; c++) {
+            if (isStartCharacterInRanges(c)) {
+                START_CHARACTERS[c >>> 6] |= 1L << c;
+            }
+            if (isCharacterInRanges(c)) {
+                CHARACTERS[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    private int current, column, line, position, limit, tokenStart, textStart, textEnd;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private Reader reader;
+    private SymbolTable symbols = new SymbolTable();
+    private State state = State.END;
+    private internal.Document.Type type;
+    private String name, value;
+    // the names of the open elements and, while building a tree, the open elements themselves
+    private String[] names = new String[16];
+    private Element[] elements = new Element[16];
+    private int depth;
+    private AttributeList attributes = new AttributeList();
 
     private enum State {
         AFTER_FIRST_LINE,
@@ -31,20 +67,148 @@ public class Parser {
         ELEMENT_OPEN_NAME,
         ELEMENT_CLOSE_NAME,
         AFTER_ELEMENT,
+        AFTER_TEXT,
         ELEMENT_END,
         START
     }
 
     public Document parse(Path file) throws ParseException {
+        return parse(file, new ParseOptions());
+    }
+
+    public Document parse(Path file, ParseOptions options) throws ParseException {
+        try (Reader reader = newReader(file, options)) {
+            return parse(reader, options);
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    public void parse(Path file, Handler handler, ParseOptions options) throws ParseException {
+        try (Reader reader = newReader(file, options)) {
+            parse(reader, handler);
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    public Document parse(Reader reader, ParseOptions options) throws ParseException {
+        open(reader);
+        return build(options);
+    }
+
+    public void parse(Reader reader, Handler handler) throws ParseException {
+        open(reader);
+        parse(handler);
+    }
+
+    public static Reader newReader(Path file, ParseOptions options) throws IOException {
+        if (options.isMemoryMapped()) {
+            return new MappedReader(file);
+        }
+        return newReader(Files.newInputStream(file));
+    }
+
+    public static Reader newReader(InputStream stream) {
+        return new StreamReader(stream);
+    }
+
+    public static Reader newReader(ReadableByteChannel channel) {
+        return Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1);
+    }
+
+    public static Reader newReader(ByteBuffer bytes) {
+        return new ByteBufferReader(bytes.duplicate());
+    }
+
+    public static Reader newReader(CharSequence characters) {
+        return new CharSequenceReader(characters);
+    }
+
+    public void open(Reader reader) {
+        this.reader = reader;
+        position = 0;
+        limit = 0;
+        tokenStart = -1;
+        // the buffer and the symbol table are kept for the next document, unless a huge token made the buffer grow
+        if (buffer.length > MAXIMUM_RETAINED_BUFFER_SIZE) {
+            buffer = new char[BUFFER_SIZE];
+        }
+        column = 0;
+        line = 1;
+        depth = 0;
+        // elements left over from a document that failed to parse
+        Arrays.fill(elements, null);
+        state = State.START;
+    }
+
+    private Document build(ParseOptions options) throws ParseException {
         Document result = null;
-        try (BufferedReader bufferedReader = Files.newBufferedReader(file)) {
-            this.bufferedReader = bufferedReader;
-            column = 0;
-            line = 1;
-            elements.clear();
-            State state = State.START;
-            read();
-            while (state != State.END) {
+        int elementCount = 0;
+        while (true) {
+            switch (next()) {
+                case START_DOCUMENT -> result = switch (type) {
+                    case HTML -> SimpleXmlParser.createHtml();
+                    case XML -> SimpleXmlParser.createXml();
+                };
+                case START_ELEMENT -> {
+                    Element element = ELEMENT_ACCESS.createElement(name);
+                    if (options.getAttributeOrder() != AttributeOrder.ALPHABETICAL) {
+                        element.setAttributeOrder(options.getAttributeOrder());
+                    }
+                    if (elementCount == 0) {
+                        result.addRoot(element);
+                    } else {
+                        elements[elementCount - 1].addChild(element);
+                    }
+                    if (elementCount == elements.length) {
+                        elements = Arrays.copyOf(elements, elementCount * 2);
+                    }
+                    elements[elementCount++] = element;
+                }
+                case ATTRIBUTE -> ELEMENT_ACCESS.addAttribute(elements[elementCount - 1], name, value);
+                case TEXT -> elements[elementCount - 1].addChild(getText());
+                // the closed elements are released, so that a reused parser does not keep them alive
+                case END_ELEMENT -> elements[--elementCount] = null;
+                case END_DOCUMENT -> {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private void parse(Handler handler) throws ParseException {
+        String element = null;
+        while (true) {
+            XmlEventReader.Event event = next();
+            // the start of an element is reported after all of its attributes have been read
+            if (element != null && event != XmlEventReader.Event.ATTRIBUTE) {
+                handler.startElement(element, attributes);
+                element = null;
+            }
+            switch (event) {
+                case START_DOCUMENT -> handler.startDocument(type == internal.Document.Type.HTML);
+                case START_ELEMENT -> {
+                    element = name;
+                    attributes.clear();
+                }
+                case ATTRIBUTE -> attributes.add(name, value);
+                case TEXT -> handler.text(buffer, textStart, textEnd - textStart);
+                case END_ELEMENT -> handler.endElement(name);
+                case END_DOCUMENT -> {
+                    handler.endDocument();
+                    return;
+                }
+            }
+        }
+    }
+
+    public XmlEventReader.Event next() throws ParseException {
+        try {
+            if (state == State.START) {
+                read();
+            }
+            while (true) {
                 switch (state) {
                     case START -> {
                         parseWhitespace(true);
@@ -54,15 +218,15 @@ public class Parser {
                         parseLeftAngleBracket(false);
                         if (parseDeclaration()) {
                             parseRightAngleBracket();
-                            result = SimpleXmlParser.createXml();
+                            type = internal.Document.Type.XML;
                             state = State.AFTER_FIRST_LINE;
-                            continue;
+                            return XmlEventReader.Event.START_DOCUMENT;
                         }
                         if (parseDoctype()) {
                             parseRightAngleBracket();
-                            result = SimpleXmlParser.createHtml();
+                            type = internal.Document.Type.HTML;
                             state = State.AFTER_FIRST_LINE;
-                            continue;
+                            return XmlEventReader.Event.START_DOCUMENT;
                         }
                         throw new ParseException("Missing valid XML declaration or HTML doctype", line, column);
                     }
@@ -75,15 +239,13 @@ public class Parser {
                         state = State.ELEMENT_OPEN_NAME;
                     }
                     case ELEMENT_OPEN_NAME -> {
-                        String name = parseName();
-                        Element element = new Element(name);
-                        if (elements.isEmpty()) {
-                            result.addRoot(element);
-                        } else {
-                            elements.peek().addChild(element);
+                        name = parseName();
+                        if (depth == names.length) {
+                            names = Arrays.copyOf(names, depth * 2);
                         }
-                        elements.push(element);
+                        names[depth++] = name;
                         state = State.AFTER_ELEMENT_OPEN_NAME;
+                        return XmlEventReader.Event.START_ELEMENT;
                     }
                     case AFTER_ELEMENT_OPEN_NAME ->
                             state = parseWhitespace(true) ? State.ATTRIBUTE_OR_SHORT_CLOSE : State.ELEMENT_END;
@@ -93,36 +255,48 @@ public class Parser {
                     }
                     case ATTRIBUTE_OR_SHORT_CLOSE -> {
                         if (parseSlash()) {
-                            elements.pop();
+                            name = names[--depth];
                             state = State.ELEMENT_END;
-                            continue;
+                            return XmlEventReader.Event.END_ELEMENT;
                         }
-                        String key = parseName();
+                        name = parseName();
                         if (parseEqualSign()) {
                             parseQuotationMark();
-                            String value = parseName();
+                            value = parseValue();
                             parseQuotationMark();
-                            elements.peek().addAttribute(key, value);
                         } else {
-                            elements.peek().addAttribute(key);
+                            value = "";
                         }
                         state = State.AFTER_ELEMENT_OPEN_NAME;
+                        return XmlEventReader.Event.ATTRIBUTE;
                     }
                     case AFTER_ELEMENT -> {
                         parseWhitespace(true);
-                        state = elements.isEmpty() ? State.CANDIDATE_END : State.ELEMENT_START_OR_TEXT;
+                        state = depth == 0 ? State.CANDIDATE_END : State.ELEMENT_START_OR_TEXT;
                     }
                     case CANDIDATE_END -> {
                         parseEnd();
                         state = State.END;
+                        return XmlEventReader.Event.END_DOCUMENT;
                     }
                     case ELEMENT_START_OR_TEXT -> {
                         if (parseLeftAngleBracket(true)) {
                             state = State.ELEMENT_START;
                             continue;
                         }
-                        String text = parseText();
-                        elements.peek().addChild(text);
+                        // at the end of the stream there is no text and the missing '<' is reported
+                        if (current < 0) {
+                            state = State.AFTER_TEXT;
+                            continue;
+                        }
+                        parseText();
+                        state = State.AFTER_TEXT;
+                        // the text stays in the buffer until the next character is read
+                        if (textStart < textEnd) {
+                            return XmlEventReader.Event.TEXT;
+                        }
+                    }
+                    case AFTER_TEXT -> {
                         parseLeftAngleBracket(false);
                         state = State.ELEMENT_START;
                     }
@@ -134,25 +308,56 @@ public class Parser {
                         state = State.ELEMENT_OPEN_NAME;
                     }
                     case ELEMENT_CLOSE_NAME -> {
-                        parseName(elements.peek().getName());
-                        elements.pop();
+                        parseName(names[depth - 1]);
+                        name = names[--depth];
                         state = State.ELEMENT_END;
+                        return XmlEventReader.Event.END_ELEMENT;
                     }
+                    case END -> throw new NoSuchElementException("End of document already reached");
                 }
             }
-        } catch (EmptyStackException | IOException e) {
+        } catch (IOException e) {
             throw new ParseException(e);
         }
-        return result;
     }
 
-    private String parseText() throws IOException {
-        StringBuilder result = new StringBuilder();
-        while (current != '<') {
-            result.append(Character.toString(current));
+    public internal.Document.Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getText() {
+        return new String(buffer, textStart, textEnd - textStart);
+    }
+
+    public void close() throws IOException {
+        state = State.END;
+        reader.close();
+    }
+
+    private void parseText() throws IOException {
+        tokenStart = position - 1;
+        while (current != '<' && current >= 0) {
             read();
         }
-        return result.toString().trim();
+        int start = tokenStart;
+        int end = tokenEnd();
+        tokenStart = -1;
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (start < end && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        textStart = start;
+        textEnd = end;
     }
 
     private void parseEnd() throws IOException, ParseException {
@@ -160,34 +365,52 @@ public class Parser {
             return;
         }
         throw new ParseException(
-                String.format("Unexpected character '%s' instead of end of stream", Character.toString(current)), line,
+                String.format("Unexpected character '%s' instead of end of stream", toString(current)), line,
                 column);
     }
 
-    private void mark() throws IOException {
-        bufferedReader.mark(0);
-        backupCurrent = current;
-        backupColumn = column;
-        backupLine = line;
-    }
-
-    private void reset() throws IOException {
-        bufferedReader.reset();
-        current = backupCurrent;
-        column = backupColumn;
-        line = backupLine;
-    }
-
     private void read() throws IOException {
-        int character = bufferedReader.read();
+        if (position < limit || fill()) {
+            current = buffer[position++];
+        } else {
+            current = -1;
+        }
         column++;
-        current = character;
         if (current == '\n') {
             line++;
             column = 0;
         }
     }
 
+    private boolean fill() throws IOException {
+        if (tokenStart < 0) {
+            limit = 0;
+        } else {
+            // keep the characters of the current token, growing the buffer if the token fills most of it
+            int length = limit - tokenStart;
+            char[] target = length > buffer.length / 2 ? new char[buffer.length * 2] : buffer;
+            System.arraycopy(buffer, tokenStart, target, 0, length);
+            buffer = target;
+            tokenStart = 0;
+            limit = length;
+        }
+        position = limit;
+        int count = reader.read(buffer, limit, buffer.length - limit);
+        if (count <= 0) {
+            return false;
+        }
+        limit += count;
+        return true;
+    }
+
+    private static String toString(int character) {
+        return character < 0 ? "end of stream" : Character.toString(character);
+    }
+
+    private int tokenEnd() {
+        return current < 0 ? position : position - 1;
+    }
+
     private boolean parseEqualSign() throws IOException {
         if (current == '=') {
             read();
@@ -202,34 +425,72 @@ public class Parser {
             return;
         }
         throw new ParseException(
-                String.format("Unexpected character '%s' instead of '\"'", Character.toString(current)), line, column);
+                String.format("Unexpected character '%s' instead of '\"'", toString(current)), line, column);
     }
 
     private String parseName() throws ParseException, IOException {
-        StringBuilder result = new StringBuilder();
+        scanName();
+        String result = symbols.add(buffer, tokenStart, tokenEnd() - tokenStart);
+        tokenStart = -1;
+        return result;
+    }
+
+    private String parseValue() throws ParseException, IOException {
+        scanName();
+        String result = new String(buffer, tokenStart, tokenEnd() - tokenStart);
+        tokenStart = -1;
+        return result;
+    }
+
+    private void scanName() throws ParseException, IOException {
         if (!isStartCharacter(current)) {
             throw new ParseException(
-                    String.format("Unexpected character '%s' for element name", Character.toString(current)), line,
+                    String.format("Unexpected character '%s' for element name", toString(current)), line,
                     column);
         }
-        result.append(Character.toString(current));
+        tokenStart = position - 1;
         read();
         while (isCharacter(current)) {
-            result.append(Character.toString(current));
             read();
         }
-        return result.toString();
     }
 
     private void parseName(String reference) throws ParseException, IOException {
         String name = parseName();
-        if (!name.equals(reference)) {
+        // names are usually canonical instances from the symbol table, only names beyond its maximum size are compared
+        if (name != reference && !name.equals(reference)) {
             throw new ParseException(String.format("Unexpected element name '%s' instead of '%s'", name, reference),
                     line, column - name.length());
         }
     }
 
+    public static boolean isName(String name) {
+        if (name.isEmpty() || !isStartCharacter(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!isCharacter(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static boolean isStartCharacter(int c) {
+        if (0 <= c && c <= 0xFFFF) {
+            return (START_CHARACTERS[c >>> 6] & (1L << c)) != 0;
+        }
+        return isStartCharacterInRanges(c);
+    }
+
+    public static boolean isCharacter(int c) {
+        if (0 <= c && c <= 0xFFFF) {
+            return (CHARACTERS[c >>> 6] & (1L << c)) != 0;
+        }
+        return isCharacterInRanges(c);
+    }
+
+    private static boolean isStartCharacterInRanges(int c) {
         // :
         if (c == ':') {
             return true;
@@ -282,7 +543,7 @@ public class Parser {
         return 0x010000 <= c && c <= 0x0EFFFF;
     }
 
-    public static boolean isCharacter(int c) {
+    private static boolean isCharacterInRanges(int c) {
         if (c == '-') {
             return true;
         }
@@ -301,13 +562,11 @@ public class Parser {
         if (0x203f <= c && c <= 0x2040) {
             return true;
         }
-        return isStartCharacter(c);
+        return isStartCharacterInRanges(c);
     }
 
     private boolean parseDeclaration() throws IOException, ParseException {
-        mark();
         if (current != '?') {
-            reset();
             return false;
         }
         read();
@@ -330,9 +589,7 @@ public class Parser {
     }
 
     private boolean parseDoctype() throws IOException, ParseException {
-        mark();
         if (current != '!') {
-            reset();
             return false;
         }
         read();
@@ -350,7 +607,7 @@ public class Parser {
         if (optional) {
             return false;
         }
-        throw new ParseException(String.format("Unexpected character '%s' instead of '<'", Character.toString(current)),
+        throw new ParseException(String.format("Unexpected character '%s' instead of '<'", toString(current)),
                 line, column);
     }
 
@@ -359,7 +616,7 @@ public class Parser {
             read();
             return;
         }
-        throw new ParseException(String.format("Unexpected character '%s' instead of '>'", Character.toString(current)),
+        throw new ParseException(String.format("Unexpected character '%s' instead of '>'", toString(current)),
                 line, column);
     }
 
@@ -383,11 +640,11 @@ public class Parser {
         if (result) {
             return true;
         }
-        throw new ParseException(String.format("Unexpected character '%s' instead of ' '", Character.toString(current)),
+        throw new ParseException(String.format("Unexpected character '%s' instead of ' '", toString(current)),
                 line, column);
     }
 
-    private boolean isWhitespaceCharacter(int current) {
+    static boolean isWhitespaceCharacter(int current) {
         if (current == 0x20) {
             return true;
         }
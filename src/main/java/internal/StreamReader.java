@@ -0,0 +1,73 @@
+package internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public final class StreamReader extends ByteBufferReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private InputStream stream;
+    private boolean ended;
+    // the number of bytes in the buffer, including the bytes of an incomplete UTF-8 sequence after its limit
+    private int filled;
+
+    public StreamReader() {
+        super(ByteBuffer.allocate(0));
+    }
+
+    public StreamReader(InputStream stream) {
+        this();
+        open(stream);
+    }
+
+    public void open(InputStream stream) {
+        this.stream = stream;
+        ended = false;
+        buffer.clear().limit(0);
+        filled = 0;
+        reset(buffer);
+    }
+
+    @Override
+    protected ByteBuffer next() throws IOException {
+        if (ended) {
+            return null;
+        }
+        byte[] array = buffer.array();
+        int carried = filled - buffer.limit();
+        System.arraycopy(array, buffer.limit(), array, 0, carried);
+        filled = carried;
+        int count = stream.read(array, filled, array.length - filled);
+        if (count < 0) {
+            ended = true;
+            if (filled == 0) {
+                return null;
+            }
+            // an incomplete sequence at the end of the stream is reported by the decoder
+            buffer.position(0).limit(filled);
+            return buffer;
+        }
+        filled += count;
+        // the buffer ends before the first byte of a possibly incomplete UTF-8 sequence of at most 4 bytes
+        int end = filled;
+        while (end > Math.max(0, filled - 3) && (array[end - 1] & 0xC0) == 0x80) {
+            end--;
+        }
+        if (end > 0 && array[end - 1] < 0) {
+            end--;
+        }
+        buffer.position(0).limit(end);
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
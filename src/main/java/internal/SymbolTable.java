@@ -0,0 +1,77 @@
+package internal;
+
+public class SymbolTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+    // a table reused for many documents stops growing, further names are created without being stored
+    private static final int MAXIMUM_SIZE = 4096;
+
+    private String[] symbols = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public String add(char[] buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        int mask = symbols.length - 1;
+        int index = mix(hash) & mask;
+        while (symbols[index] != null) {
+            if (hashes[index] == hash && matches(symbols[index], buffer, offset, length)) {
+                return symbols[index];
+            }
+            index = (index + 1) & mask;
+        }
+        String symbol = new String(buffer, offset, length);
+        if (size == MAXIMUM_SIZE) {
+            return symbol;
+        }
+        symbols[index] = symbol;
+        hashes[index] = hash;
+        size++;
+        if (size > symbols.length * 3 / 4) {
+            grow();
+        }
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        String[] oldSymbols = symbols;
+        int[] oldHashes = hashes;
+        symbols = new String[oldSymbols.length * 2];
+        hashes = new int[oldHashes.length * 2];
+        int mask = symbols.length - 1;
+        for (int i = 0; i < oldSymbols.length; i++) {
+            if (oldSymbols[i] == null) {
+                continue;
+            }
+            int index = mix(oldHashes[i]) & mask;
+            while (symbols[index] != null) {
+                index = (index + 1) & mask;
+            }
+            symbols[index] = oldSymbols[i];
+            hashes[index] = oldHashes[i];
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String symbol, char[] buffer, int offset, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,28 +1,43 @@
 package internal;
 
+import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.stream.IntStream;
+import java.io.UncheckedIOException;
 
 public class Text extends Node {
 
     public String getText() {
+        if (text == null) {
+            text = builder.toString();
+        }
         return text;
     }
 
     private String text;
+    // only allocated when text is appended, the string is recreated from it on demand
+    private StringBuilder builder;
 
     public Text(String text) {
         super(Type.TEXT, false);
         this.text = text;
     }
 
+    public void append(String text) {
+        if (builder == null) {
+            builder = new StringBuilder(this.text);
+        }
+        builder.append(text);
+        this.text = null;
+    }
+
     @Override
     public void toXml(PrintWriter printWriter, int level) {
-        if (isIndented()) {
-            IntStream.range(0, 2 * level).forEach(ignored -> printWriter.print(" "));
-            printWriter.println(encode(text));
-        } else {
-            printWriter.print(encode(text));
+        XmlWriter xmlWriter = new XmlWriter(printWriter);
+        try {
+            xmlWriter.write(this, level);
+            xmlWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,190 @@
+package internal;
+
+import main.Element;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+public class XmlWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final char[] INDENT = " ".repeat(256).toCharArray();
+
+    private Writer writer;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private boolean compact;
+
+    public XmlWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    public void write(Node node, int level) throws IOException {
+        if (node.getType() == Node.Type.TEXT) {
+            write((Text) node, level);
+            return;
+        }
+        if (!writeStartTag((Element) node, level)) {
+            return;
+        }
+        // the open elements and the index of their next child are kept on an explicit stack instead of recursing
+        Element[] elements = new Element[16];
+        int[] indices = new int[16];
+        elements[0] = (Element) node;
+        int depth = 1;
+        while (depth > 0) {
+            Element element = elements[depth - 1];
+            int index = indices[depth - 1];
+            if (index == ELEMENT_ACCESS.getChildCount(element)) {
+                writeEndTag(element, level + depth - 1);
+                elements[--depth] = null;
+                continue;
+            }
+            indices[depth - 1]++;
+            Node child = ELEMENT_ACCESS.getChild(element, index);
+            if (child.getType() == Node.Type.TEXT) {
+                write((Text) child, level + depth);
+            } else if (writeStartTag((Element) child, level + depth)) {
+                if (depth == elements.length) {
+                    elements = Arrays.copyOf(elements, depth * 2);
+                    indices = Arrays.copyOf(indices, depth * 2);
+                }
+                elements[depth] = (Element) child;
+                indices[depth] = 0;
+                depth++;
+            }
+        }
+    }
+
+    private boolean writeStartTag(Element element, int level) throws IOException {
+        if (element.isIndented()) {
+            indent(level);
+        }
+        write('<');
+        writeEscaped(element.getName());
+        AttributeList attributes = ELEMENT_ACCESS.getAttributes(element);
+        for (int i = 0; attributes != null && i < attributes.size(); i++) {
+            write(' ');
+            writeEscaped(attributes.getKey(i));
+            String value = attributes.getValue(i);
+            if (!value.isEmpty()) {
+                write('=');
+                write('"');
+                writeEscaped(value);
+                write('"');
+            }
+        }
+        if (ELEMENT_ACCESS.getChildCount(element) == 0) {
+            write(" />");
+            if (element.isIndented()) {
+                newLine();
+            }
+            return false;
+        }
+        write('>');
+        if (ELEMENT_ACCESS.getChild(element, 0).isIndented()) {
+            newLine();
+        }
+        return true;
+    }
+
+    private void writeEndTag(Element element, int level) throws IOException {
+        if (ELEMENT_ACCESS.getChild(element, ELEMENT_ACCESS.getChildCount(element) - 1).isIndented()) {
+            indent(level);
+        }
+        write("</");
+        writeEscaped(element.getName());
+        write('>');
+        newLine();
+    }
+
+    private void write(Text text, int level) throws IOException {
+        if (text.isIndented()) {
+            indent(level);
+            writeEscaped(text.getText());
+            newLine();
+        } else {
+            writeEscaped(text.getText());
+        }
+    }
+
+    public void write(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    public void write(String string) throws IOException {
+        write(string, 0, string.length());
+    }
+
+    private void write(String string, int start, int end) throws IOException {
+        while (start < end) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int length = Math.min(end - start, buffer.length - position);
+            string.getChars(start, start + length, buffer, position);
+            position += length;
+            start += length;
+        }
+    }
+
+    public void newLine() throws IOException {
+        if (compact) {
+            return;
+        }
+        write(LINE_SEPARATOR);
+    }
+
+    public void indent(int level) throws IOException {
+        int count = compact ? 0 : 2 * level;
+        while (count > 0) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int length = Math.min(Math.min(count, INDENT.length), buffer.length - position);
+            System.arraycopy(INDENT, 0, buffer, position, length);
+            position += length;
+            count -= length;
+        }
+    }
+
+    // unchanged runs between the characters that need escaping are copied in bulk
+    public void writeEscaped(String string) throws IOException {
+        int start = 0;
+        for (int i = 0; i < string.length(); i++) {
+            String entity = switch (string.charAt(i)) {
+                case '"' -> "&quot;";
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                default -> null;
+            };
+            if (entity != null) {
+                write(string, start, i);
+                write(entity);
+                start = i + 1;
+            }
+        }
+        write(string, start, string.length());
+    }
+
+    public void flush() throws IOException {
+        drain();
+        writer.flush();
+    }
+
+    private void drain() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+}
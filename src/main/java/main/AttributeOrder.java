@@ -0,0 +1,17 @@
+package main;
+
+/**
+ * This enum represents the order in which the attributes of an element are returned and exported as XML.
+ */
+public enum AttributeOrder {
+
+    /**
+     * The attributes are ordered alphabetically by their keys.
+     */
+    ALPHABETICAL,
+
+    /**
+     * The attributes are ordered as they were added to the element, which is the document order for parsed elements.
+     */
+    INSERTION
+}
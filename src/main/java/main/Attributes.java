@@ -0,0 +1,41 @@
+package main;
+
+/**
+ * This interface represents the attributes of an element in the order they appear in the document. Keys are unique;
+ * if an element contains the same key more than once, the last value is kept at the position of the first occurrence.
+ */
+public interface Attributes {
+
+    /**
+     * Returns the number of attributes.
+     *
+     * @return the number of attributes
+     */
+    int size();
+
+    /**
+     * Returns the key of the attribute at the given position.
+     *
+     * @param index the position of the attribute
+     * @return the attribute's key
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than {@link #size()}
+     */
+    String getKey(int index);
+
+    /**
+     * Returns the value of the attribute at the given position. The value of an attribute without value is empty.
+     *
+     * @param index the position of the attribute
+     * @return the attribute's value
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than {@link #size()}
+     */
+    String getValue(int index);
+
+    /**
+     * Returns the value of the attribute with the given key.
+     *
+     * @param key the attribute's key
+     * @return the attribute's value or null if there is no attribute with the given key
+     */
+    String get(String key);
+}
@@ -1,6 +1,9 @@
 package main;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 
 public interface Document {
@@ -9,5 +12,17 @@ public interface Document {
 
     void toXml(Path file) throws IOException;
 
+    void toXml(OutputStream stream) throws IOException;
+
+    void toXml(Writer writer) throws IOException;
+
+    void toXml(WritableByteChannel channel) throws IOException;
+
+    byte[] toBytes();
+
     Element getRoot();
+
+    void setOutputProfile(OutputProfile outputProfile);
+
+    OutputProfile getOutputProfile();
 }
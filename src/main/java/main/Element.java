@@ -1,12 +1,17 @@
 package main;
 
+import internal.AttributeList;
+import internal.ElementAccess;
 import internal.Node;
 import internal.Parser;
 import internal.Text;
+import internal.XmlWriter;
 
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
 
 /**
  * This class represents an XML element which can added as a root node to a document or as a child element to another
@@ -16,10 +21,66 @@ import java.util.stream.IntStream;
 public class Element extends Node {
 
     private String name;
-    private Map<String, String> attributes = new TreeMap<>();
-    private List<Node> children = new LinkedList<>();
-    private List<Element> childElements = new LinkedList<>();
-    private List<Text> childTexts = new LinkedList<>();
+    private AttributeList attributes;
+    private AttributeOrder attributeOrder = AttributeOrder.ALPHABETICAL;
+    private Node[] children;
+    private int childCount, elementCount;
+    // filled before it is published, so that concurrent readers never see an incomplete array
+    private volatile Element[] childElements;
+    // builds the attributes and children of a lazily parsed element on first access
+    private volatile Consumer<Element> loader;
+    private Element parent;
+    // the name indexes are built on the first lookup and dropped when a child element is added
+    private volatile Map<String, List<Element>> childIndex, descendantIndex;
+    // true, if this element or one of its ancestors may have a descendant index
+    private boolean indexed;
+
+    static {
+        ElementAccess.set(new ElementAccess() {
+            @Override
+            public Element createElement(String name) {
+                return new Element(name, (Consumer<Element>) null);
+            }
+
+            @Override
+            public Element createElement(String name, Consumer<Element> loader) {
+                return new Element(name, loader);
+            }
+
+            @Override
+            public void addAttribute(Element element, String key, String value) {
+                element.putAttribute(key, value);
+            }
+
+            @Override
+            public void addChild(Element element, Element child) {
+                element.addElement(child, false);
+            }
+
+            @Override
+            public void addText(Element element, String text) {
+                element.addText(text);
+            }
+
+            @Override
+            public AttributeList getAttributes(Element element) {
+                element.load();
+                return element.attributes;
+            }
+
+            @Override
+            public int getChildCount(Element element) {
+                element.load();
+                return element.childCount;
+            }
+
+            @Override
+            public Node getChild(Element element, int index) {
+                element.load();
+                return element.children[index];
+            }
+        });
+    }
 
     /**
      * Creates an element with a given name.
@@ -29,15 +90,18 @@ public class Element extends Node {
      */
     public Element(String name) {
         super(Type.ELEMENT, true);
-        if (!Parser.isStartCharacter(name.charAt(0))) {
-            throw new IllegalArgumentException("Illegal character in element name");
-        }
-        if (name.chars().anyMatch(c -> !Parser.isCharacter(c))) {
+        if (!Parser.isName(name)) {
             throw new IllegalArgumentException("Illegal character in element name");
         }
         this.name = name;
     }
 
+    private Element(String name, Consumer<Element> loader) {
+        super(Type.ELEMENT, true);
+        this.name = name;
+        this.loader = loader;
+    }
+
     /**
      * Returns the name of the element.
      *
@@ -68,16 +132,48 @@ public class Element extends Node {
      * @throws IllegalArgumentException if the key contains characters that do not match the requirements of XML names
      */
     public Element addAttribute(String key, String value) {
-        if (!Parser.isStartCharacter(key.charAt(0))) {
+        if (!Parser.isName(key)) {
             throw new IllegalArgumentException("Illegal character in attribute key");
         }
-        if (key.chars().anyMatch(c -> !Parser.isCharacter(c))) {
-            throw new IllegalArgumentException("Illegal character in attribute key");
+        load();
+        putAttribute(key, value);
+        return this;
+    }
+
+    private void putAttribute(String key, String value) {
+        if (attributes == null) {
+            // most elements have only a few attributes
+            attributes = new AttributeList(2);
+            attributes.setAlphabetical(attributeOrder == AttributeOrder.ALPHABETICAL);
+        }
+        attributes.add(key, value);
+    }
+
+    /**
+     * Sets the order in which the element's attributes are returned and exported as XML. The order should be set
+     * before attributes are added, because the insertion order of already existing attributes is lost once the order
+     * is set to alphabetical. The default is {@link AttributeOrder#ALPHABETICAL}.
+     *
+     * @param attributeOrder the order of the element's attributes
+     * @return the modified element
+     */
+    public Element setAttributeOrder(AttributeOrder attributeOrder) {
+        this.attributeOrder = Objects.requireNonNull(attributeOrder);
+        if (attributes != null) {
+            attributes.setAlphabetical(attributeOrder == AttributeOrder.ALPHABETICAL);
         }
-        attributes.put(key, value);
         return this;
     }
 
+    /**
+     * Returns the order in which the element's attributes are returned and exported as XML.
+     *
+     * @return the order of the element's attributes
+     */
+    public AttributeOrder getAttributeOrder() {
+        return attributeOrder;
+    }
+
     /**
      * Adds an attribute to the element with a given key and an empty value. If the element previously contained an
      * attribute for the given key, the old value is replaced by an empty value.
@@ -111,13 +207,27 @@ public class Element extends Node {
      * @return the modified element
      */
     public Element addChild(Element element, boolean preventIndent) {
+        load();
+        addElement(element, preventIndent);
+        return this;
+    }
+
+    private void addElement(Element element, boolean preventIndent) {
         element.setIndented(!preventIndent);
-        if (!children.isEmpty() && children.get(children.size() - 1).getType() == Type.TEXT) {
-            children.get(children.size() - 1).setIndented(!preventIndent);
+        if (childCount > 0 && children[childCount - 1].getType() == Type.TEXT) {
+            children[childCount - 1].setIndented(!preventIndent);
+        }
+        add(element);
+        elementCount++;
+        childElements = null;
+        childIndex = null;
+        element.parent = this;
+        if (indexed) {
+            for (Element ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                ancestor.descendantIndex = null;
+                ancestor.indexed = false;
+            }
         }
-        children.add(element);
-        childElements.add(element);
-        return this;
     }
 
     /**
@@ -134,17 +244,53 @@ public class Element extends Node {
         if (text.isBlank()) {
             throw new IllegalArgumentException("Text must not be blank");
         }
-        if (!children.isEmpty() && children.get(children.size() - 1).getType() == Type.TEXT) {
-            Text old = childTexts.remove(childTexts.size() - 1);
-            children.remove(old);
-            addChild(old.getText() + text);
+        load();
+        addText(text);
+        return this;
+    }
+
+    private void addText(String text) {
+        if (childCount > 0 && children[childCount - 1].getType() == Type.TEXT) {
+            ((Text) children[childCount - 1]).append(text);
         } else {
             Text child = new Text(text);
-            child.setIndented(!children.isEmpty() && children.get(children.size() - 1).isIndented());
-            children.add(child);
-            childTexts.add(child);
+            child.setIndented(childCount > 0 && children[childCount - 1].isIndented());
+            add(child);
+        }
+    }
+
+    private void add(Node child) {
+        if (children == null) {
+            children = new Node[4];
+        } else if (childCount == children.length) {
+            children = Arrays.copyOf(children, childCount * 2);
+        }
+        children[childCount++] = child;
+    }
+
+    private void load() {
+        if (loader == null) {
+            return;
+        }
+        synchronized (this) {
+            Consumer<Element> current = loader;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.accept(this);
+            } catch (RuntimeException e) {
+                attributes = null;
+                children = null;
+                childCount = 0;
+                elementCount = 0;
+                childElements = null;
+                childIndex = null;
+                throw e;
+            }
+            // other threads only see the loaded content after the loader is removed
+            loader = null;
         }
-        return this;
     }
 
     /**
@@ -156,39 +302,12 @@ public class Element extends Node {
      */
     @Override
     public void toXml(PrintWriter printWriter, int level) {
-        if (isIndented()) {
-            IntStream.range(0, 2 * level).forEach(ignored -> printWriter.print(" "));
-        }
-        printWriter.print("<");
-        printWriter.print(encode(name));
-        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
-            printWriter.print(" ");
-            printWriter.print(encode(attribute.getKey()));
-            if (!attribute.getValue().isEmpty()) {
-                printWriter.print("=\"");
-                printWriter.print(encode(attribute.getValue()));
-                printWriter.print("\"");
-            }
-        }
-        if (children.isEmpty()) {
-            if (isIndented()) {
-                printWriter.println(" />");
-            } else {
-                printWriter.print(" />");
-            }
-        } else {
-            if (children.get(0).isIndented()) {
-                printWriter.println(">");
-            } else {
-                printWriter.print(">");
-            }
-            children.forEach(child -> child.toXml(printWriter, level + 1));
-            if (children.get(children.size() - 1).isIndented()) {
-                IntStream.range(0, 2 * level).forEach(ignored -> printWriter.print(" "));
-            }
-            printWriter.print("</");
-            printWriter.print(encode(name));
-            printWriter.println(">");
+        XmlWriter xmlWriter = new XmlWriter(printWriter);
+        try {
+            xmlWriter.write(this, level);
+            xmlWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -199,7 +318,96 @@ public class Element extends Node {
      * @return the list of all child elements
      */
     public List<Element> getChildElements() {
-        return Collections.unmodifiableList(childElements);
+        load();
+        return new AbstractList<>() {
+            @Override
+            public Element get(int index) {
+                Objects.checkIndex(index, elementCount);
+                return getChildElement(index);
+            }
+
+            @Override
+            public int size() {
+                return elementCount;
+            }
+        };
+    }
+
+    /**
+     * Returns all child elements with the given name in the order they appear in the element's child list. The child
+     * elements are indexed by name on the first lookup, so that repeated lookups do not iterate over all children. The
+     * index is rebuilt after a child element was added.
+     *
+     * @param name the name of the child elements
+     * @return the list of all child elements with the given name
+     */
+    public List<Element> getChildElements(String name) {
+        return Collections.unmodifiableList(getChildIndex().getOrDefault(name, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the first child element with the given name.
+     *
+     * @param name the name of the child element
+     * @return the first child element with the given name or null, if the element has no such child element
+     * @see #getChildElements(String)
+     */
+    public Element getFirstChild(String name) {
+        List<Element> elements = getChildIndex().get(name);
+        return elements == null ? null : elements.get(0);
+    }
+
+    private Map<String, List<Element>> getChildIndex() {
+        load();
+        Map<String, List<Element>> result = childIndex;
+        if (result == null) {
+            result = new HashMap<>();
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].getType() == Type.ELEMENT) {
+                    Element element = (Element) children[i];
+                    result.computeIfAbsent(element.name, key -> new ArrayList<>(2)).add(element);
+                }
+            }
+            childIndex = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns all elements with the given name in the element's subtree in document order, excluding the element
+     * itself. The subtree is indexed by name on the first lookup, so that repeated lookups do not traverse the
+     * subtree. The index is rebuilt after a child element was added anywhere in the subtree.
+     *
+     * @param name the name of the descendant elements
+     * @return the list of all descendant elements with the given name
+     */
+    public List<Element> getDescendants(String name) {
+        load();
+        Map<String, List<Element>> index = descendantIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            indexed = true;
+            // an explicit stack visits the elements in document order without recursion
+            Deque<Element> stack = new ArrayDeque<>();
+            pushChildElements(this, stack);
+            while (!stack.isEmpty()) {
+                Element element = stack.pop();
+                element.load();
+                element.indexed = true;
+                index.computeIfAbsent(element.name, key -> new ArrayList<>()).add(element);
+                pushChildElements(element, stack);
+            }
+            descendantIndex = index;
+        }
+        return Collections.unmodifiableList(index.getOrDefault(name, Collections.emptyList()));
+    }
+
+    private static void pushChildElements(Element element, Deque<Element> stack) {
+        for (int i = element.childCount - 1; i >= 0; i--) {
+            if (element.children[i].getType() == Type.ELEMENT) {
+                stack.push((Element) element.children[i]);
+            }
+        }
     }
 
     /**
@@ -209,16 +417,48 @@ public class Element extends Node {
      * @return the list of all child text nodes
      */
     public List<String> getChildTexts() {
-        return childTexts.stream().map(Text::getText).toList();
+        load();
+        List<String> result = new ArrayList<>(childCount - elementCount);
+        for (int i = 0; i < childCount; i++) {
+            if (children[i].getType() == Type.TEXT) {
+                result.add(((Text) children[i]).getText());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private Element getChildElement(int index) {
+        if (elementCount == childCount) {
+            return (Element) children[index];
+        }
+        // the child elements are collected once when text nodes are mixed in and recollected after a change
+        Element[] result = childElements;
+        if (result == null) {
+            result = new Element[elementCount];
+            int count = 0;
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].getType() == Type.ELEMENT) {
+                    result[count++] = (Element) children[i];
+                }
+            }
+            childElements = result;
+        }
+        return result[index];
     }
 
     /**
-     * Returns all of the element's attributes in alphabetical key order.
+     * Returns all of the element's attributes in the element's attribute order, which is alphabetical key order by
+     * default. The returned map cannot be modified.
      *
      * @return the key-value map of all attributes
+     * @see #setAttributeOrder(AttributeOrder)
      */
     public Map<String, String> getAttributes() {
-        return Collections.unmodifiableMap(attributes);
+        load();
+        if (attributes == null) {
+            return Collections.emptyMap();
+        }
+        return attributes.asMap();
     }
 
 }
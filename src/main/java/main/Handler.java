@@ -0,0 +1,51 @@
+package main;
+
+/**
+ * This interface receives the structure of a parsed XML document as a sequence of callbacks without an element tree
+ * being built. All methods do nothing by default, so only the callbacks of interest need to be implemented. The
+ * arguments of a callback are only valid during the call; the attributes and the character array are reused by the
+ * parser afterwards.
+ */
+public interface Handler {
+
+    /**
+     * Called once after the XML declaration or HTML doctype has been read.
+     *
+     * @param html true, if the document starts with an HTML doctype
+     */
+    default void startDocument(boolean html) {
+    }
+
+    /**
+     * Called after the start tag of an element has been read completely.
+     *
+     * @param name       the element's name
+     * @param attributes the element's attributes in document order
+     */
+    default void startElement(String name, Attributes attributes) {
+    }
+
+    /**
+     * Called for the text between two tags. Leading and trailing whitespace is not part of the text.
+     *
+     * @param characters the array containing the text
+     * @param offset     the position of the text's first character in the array
+     * @param length     the number of characters of the text
+     */
+    default void text(char[] characters, int offset, int length) {
+    }
+
+    /**
+     * Called after the end tag of an element or the end of a short closed element has been read.
+     *
+     * @param name the element's name
+     */
+    default void endElement(String name) {
+    }
+
+    /**
+     * Called once after the document has been read completely.
+     */
+    default void endDocument() {
+    }
+}
@@ -0,0 +1,18 @@
+package main;
+
+/**
+ * This enum represents the profile that controls the whitespace of a document exported as XML.
+ */
+public enum OutputProfile {
+
+    /**
+     * The elements are indented by two space characters per level and separated by line breaks, as long as their
+     * indentation is not prevented.
+     */
+    PRETTY,
+
+    /**
+     * No whitespace is added between the nodes, which results in the smallest output.
+     */
+    COMPACT
+}
@@ -0,0 +1,115 @@
+package main;
+
+import java.util.Objects;
+
+/**
+ * This class represents the options that control how an XML structure is read by the parser. A new instance contains
+ * the default options; the setters return the modified options so that calls can be chained.
+ */
+public class ParseOptions {
+
+    private boolean memoryMapped;
+    private boolean lazy;
+    private int parallelism = 1;
+    private AttributeOrder attributeOrder = AttributeOrder.ALPHABETICAL;
+
+    /**
+     * Sets whether a file is mapped into memory instead of being read through a stream. A mapped file is scanned
+     * directly, only runs of non-ASCII bytes are decoded, which avoids copying the input several times. This pays off
+     * for large documents, but adds the overhead of setting up the mapping for small ones. The default is false.
+     *
+     * @param memoryMapped true, if files shall be mapped into memory
+     * @return the modified options
+     */
+    public ParseOptions memoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+        return this;
+    }
+
+    /**
+     * Returns whether a file is mapped into memory instead of being read through a stream.
+     *
+     * @return true, if files are mapped into memory
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Sets whether the elements of a parsed document are only built when they are accessed. With lazy parsing, the
+     * input is only scanned for the positions of the tags, and an element's attributes, texts and child elements are
+     * parsed when it is accessed for the first time. This pays off for large documents of which only a small part is
+     * read. The input stays referenced by the document as long as it has unparsed elements. An invalid XML structure
+     * inside an element that has not been accessed yet is only detected on access and reported as an
+     * {@link IllegalStateException}. Only files, byte arrays and byte buffers are parsed lazily, other inputs are
+     * always parsed completely. A lazily parsed document is not parsed in parallel. The default is false.
+     *
+     * @param lazy true, if the elements shall be built on access
+     * @return the modified options
+     */
+    public ParseOptions lazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    /**
+     * Returns whether the elements of a parsed document are only built when they are accessed.
+     *
+     * @return true, if the elements are built on access
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Sets the number of threads that parse a document in parallel. With more than one thread, the input is pre-scanned
+     * and split between the children of the root element, the parts are parsed concurrently and their elements are
+     * added to the root in document order. The resulting element tree is the same as the one of a sequential parse. If
+     * the input contains an invalid XML structure, it is parsed again sequentially to report the exact position of the
+     * error. This pays off for large documents whose root contains many children. Only files, byte arrays and byte
+     * buffers are parsed in parallel, other inputs are always parsed sequentially. The default is 1.
+     *
+     * @param parallelism the number of parsing threads
+     * @return the modified options
+     * @throws IllegalArgumentException if the parallelism is less than 1
+     */
+    public ParseOptions parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Returns the number of threads that parse a document in parallel.
+     *
+     * @return the number of parsing threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the order in which the attributes of the parsed elements are returned and exported as XML. With
+     * {@link AttributeOrder#INSERTION}, the attributes keep their document order, so that a parsed document is exported
+     * with its attributes in their original order. The default is {@link AttributeOrder#ALPHABETICAL}.
+     *
+     * @param attributeOrder the order of the parsed elements' attributes
+     * @return the modified options
+     */
+    public ParseOptions attributeOrder(AttributeOrder attributeOrder) {
+        this.attributeOrder = Objects.requireNonNull(attributeOrder);
+        return this;
+    }
+
+    /**
+     * Returns the order in which the attributes of the parsed elements are returned and exported as XML.
+     *
+     * @return the order of the parsed elements' attributes
+     */
+    public AttributeOrder getAttributeOrder() {
+        return attributeOrder;
+    }
+
+}
@@ -0,0 +1,157 @@
+package main;
+
+import internal.ByteBufferReader;
+import internal.MappedReader;
+import internal.Parser;
+import internal.StreamReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class represents a parser state that is reused for parsing many documents one after another. The static parse
+ * methods of {@link SimpleXmlParser} create a new parser state for every call, which includes a character buffer, a
+ * table of the element names and the structures tracking the open elements. A context keeps them between calls and
+ * only resets them, which avoids most of the per document allocations when parsing many small documents. The table of
+ * element names is shared by all documents parsed with a context and stops growing at a fixed size.
+ * <p>
+ * A context always parses sequentially with its own parser state, so the options {@link ParseOptions#lazy(boolean)}
+ * and {@link ParseOptions#parallelism(int)} are ignored by all parse methods of a context.
+ * <p>
+ * A context must not be used by multiple threads concurrently. Use one context per thread, for example with
+ * {@code ThreadLocal.withInitial(ParserContext::new)}, or a pool of contexts.
+ */
+public class ParserContext {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final Parser parser = new Parser();
+    private final StreamReader streamReader = new StreamReader();
+    private final ByteBufferReader byteReader = new ByteBufferReader(EMPTY);
+
+    /**
+     * Parses an XML structure contained in the given file. The XML structure will be transformed in an element tree.
+     *
+     * @param file the XML file
+     * @return the parsed XML document
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public Document parse(Path file) throws ParseException {
+        return parse(file, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given file using the given options. The XML structure will be
+     * transformed in an element tree.
+     *
+     * @param file    the XML file
+     * @param options the options controlling how the file is read
+     * @return the parsed XML document
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public Document parse(Path file, ParseOptions options) throws ParseException {
+        if (options.isMemoryMapped()) {
+            try (Reader reader = new MappedReader(file)) {
+                return parser.parse(reader, options);
+            } catch (IOException e) {
+                throw new ParseException(e);
+            }
+        }
+        try (InputStream stream = Files.newInputStream(file)) {
+            return parse(stream, options);
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    /**
+     * Parses an XML structure contained in the given input stream. The XML structure will be transformed in an element
+     * tree. The stream is read until the end of the document, but not closed.
+     *
+     * @param stream the UTF-8 encoded input stream
+     * @return the parsed XML document
+     * @throws ParseException if the stream contains an invalid XML structure.
+     */
+    public Document parse(InputStream stream) throws ParseException {
+        return parse(stream, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given input stream using the given options. The XML structure will be
+     * transformed in an element tree. The stream is read until the end of the document, but not closed.
+     *
+     * @param stream  the UTF-8 encoded input stream
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the stream contains an invalid XML structure.
+     */
+    public Document parse(InputStream stream, ParseOptions options) throws ParseException {
+        streamReader.open(stream);
+        try {
+            return parser.parse(streamReader, options);
+        } finally {
+            // the context does not keep the caller's input alive
+            streamReader.open(null);
+        }
+    }
+
+    /**
+     * Parses an XML structure contained in the given UTF-8 encoded bytes. The XML structure will be transformed in an
+     * element tree.
+     *
+     * @param bytes the UTF-8 encoded XML structure
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public Document parse(byte[] bytes) throws ParseException {
+        return parse(bytes, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given UTF-8 encoded bytes using the given options. The XML structure
+     * will be transformed in an element tree.
+     *
+     * @param bytes   the UTF-8 encoded XML structure
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public Document parse(byte[] bytes, ParseOptions options) throws ParseException {
+        byteReader.reset(ByteBuffer.wrap(bytes));
+        try {
+            return parser.parse(byteReader, options);
+        } finally {
+            byteReader.reset(EMPTY);
+        }
+    }
+
+    /**
+     * Parses an XML structure contained in the given character sequence. The XML structure will be transformed in an
+     * element tree.
+     *
+     * @param characters the XML structure
+     * @return the parsed XML document
+     * @throws ParseException if the characters contain an invalid XML structure.
+     */
+    public Document parse(CharSequence characters) throws ParseException {
+        return parse(characters, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given character sequence using the given options. The XML structure
+     * will be transformed in an element tree.
+     *
+     * @param characters the XML structure
+     * @param options    the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the characters contain an invalid XML structure.
+     */
+    public Document parse(CharSequence characters, ParseOptions options) throws ParseException {
+        return parser.parse(Parser.newReader(characters), options);
+    }
+
+}
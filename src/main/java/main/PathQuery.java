@@ -0,0 +1,484 @@
+package main;
+
+import internal.AttributeList;
+import internal.ElementAccess;
+import internal.Node;
+import internal.Parser;
+import internal.Text;
+
+import java.util.*;
+
+/**
+ * This class represents a compiled path expression that selects elements, texts or attribute values of an XML
+ * structure. A query is compiled once and can then be evaluated any number of times, either against an element tree or
+ * against an event reader, which evaluates the query while parsing without building the element tree.
+ * <p>
+ * An expression consists of steps that are separated by {@code /} to select child elements or by {@code //} to select
+ * descendant elements. The first step is applied to the document, so {@code /root} selects the root element named
+ * root, while {@code //item} selects all elements named item. A step is an element name or {@code *} for any name,
+ * optionally followed by conditions on the element's attributes: {@code [@key]} requires the attribute to be present
+ * and {@code [@key='value']} requires it to have the given value. The expression may end with {@code /text()} to
+ * select the child texts of the selected elements or with {@code /@key} to select the value of an attribute. Example:
+ * {@code /root/item[@id]/price/text()}.
+ */
+public class PathQuery {
+
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+    private static final int MAXIMUM_STEPS = 63;
+
+    private final String expression;
+    private final Step[] steps;
+    private final Result result;
+    private final String attribute;
+    // whether the results can be collected step by step and still be in document order
+    private final boolean stepwise;
+
+    private enum Result {
+        ELEMENTS,
+        TEXTS,
+        ATTRIBUTES
+    }
+
+    private static class Step {
+
+        private final boolean descendant;
+        // null for any name
+        private final String name;
+        private final List<String> keys = new ArrayList<>(1);
+        // null for conditions that only require the attribute to be present
+        private final List<String> values = new ArrayList<>(1);
+
+        private Step(boolean descendant, String name) {
+            this.descendant = descendant;
+            this.name = name;
+        }
+
+        private boolean matches(String name, Map<String, String> attributes) {
+            if (this.name != null && !this.name.equals(name)) {
+                return false;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                String value = attributes.get(keys.get(i));
+                if (value == null || values.get(i) != null && !values.get(i).equals(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(Element element) {
+            return matches(element.getName(), keys.isEmpty() ? Collections.emptyMap() : element.getAttributes());
+        }
+    }
+
+    private PathQuery(String expression, Step[] steps, Result result, String attribute) {
+        this.expression = expression;
+        this.steps = steps;
+        this.result = result;
+        this.attribute = attribute;
+        // a descendant step selects nested elements, whose subtrees are only disjoint if no other step follows and
+        // their texts are interleaved in document order
+        int last = result == Result.TEXTS ? steps.length : steps.length - 1;
+        boolean descendant = false;
+        for (int i = 0; i < last; i++) {
+            descendant |= steps[i].descendant;
+        }
+        stepwise = !descendant;
+    }
+
+    /**
+     * Compiles the given path expression into a query.
+     *
+     * @param expression the path expression
+     * @return the compiled query
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static PathQuery compile(String expression) {
+        List<Step> steps = new ArrayList<>();
+        int position = 0;
+        int length = expression.length();
+        while (position < length) {
+            if (expression.charAt(position) != '/') {
+                throw invalid(expression, position, "'/' expected");
+            }
+            position++;
+            boolean descendant = position < length && expression.charAt(position) == '/';
+            if (descendant) {
+                position++;
+            }
+            if (!steps.isEmpty() && !descendant) {
+                if (expression.startsWith("text()", position) && position + 6 == length) {
+                    return new PathQuery(expression, steps.toArray(new Step[0]), Result.TEXTS, null);
+                }
+                if (position < length && expression.charAt(position) == '@') {
+                    String key = expression.substring(position + 1);
+                    if (!Parser.isName(key)) {
+                        throw invalid(expression, position + 1, "attribute key expected");
+                    }
+                    return new PathQuery(expression, steps.toArray(new Step[0]), Result.ATTRIBUTES, key);
+                }
+            }
+            int end = findEnd(expression, position);
+            String name = expression.substring(position, end);
+            if (!name.equals("*") && !Parser.isName(name)) {
+                throw invalid(expression, position, "element name expected");
+            }
+            Step step = new Step(descendant, name.equals("*") ? null : name);
+            position = end;
+            while (position < length && expression.charAt(position) == '[') {
+                position = parseCondition(expression, position, step);
+            }
+            steps.add(step);
+            if (steps.size() > MAXIMUM_STEPS) {
+                throw invalid(expression, position, "too many steps");
+            }
+        }
+        if (steps.isEmpty()) {
+            throw invalid(expression, position, "step expected");
+        }
+        return new PathQuery(expression, steps.toArray(new Step[0]), Result.ELEMENTS, null);
+    }
+
+    private static int parseCondition(String expression, int position, Step step) {
+        if (!expression.startsWith("[@", position)) {
+            throw invalid(expression, position + 1, "'@' expected");
+        }
+        int start = position + 2;
+        int end = findEnd(expression, start);
+        String key = expression.substring(start, end);
+        if (!Parser.isName(key)) {
+            throw invalid(expression, start, "attribute key expected");
+        }
+        String value = null;
+        if (end < expression.length() && expression.charAt(end) == '=') {
+            end++;
+            char quote = end < expression.length() ? expression.charAt(end) : 0;
+            if (quote != '\'' && quote != '"') {
+                throw invalid(expression, end, "quotation mark expected");
+            }
+            int valueEnd = expression.indexOf(quote, end + 1);
+            if (valueEnd < 0) {
+                throw invalid(expression, expression.length(), "quotation mark expected");
+            }
+            value = expression.substring(end + 1, valueEnd);
+            end = valueEnd + 1;
+        }
+        if (end == expression.length() || expression.charAt(end) != ']') {
+            throw invalid(expression, end, "']' expected");
+        }
+        step.keys.add(key);
+        step.values.add(value);
+        return end + 1;
+    }
+
+    private static int findEnd(String expression, int position) {
+        int end = position;
+        while (end < expression.length() && "/[]=@".indexOf(expression.charAt(end)) < 0) {
+            end++;
+        }
+        return end;
+    }
+
+    private static IllegalArgumentException invalid(String expression, int position, String message) {
+        return new IllegalArgumentException(
+                String.format("Invalid path expression '%s' at position %d: %s", expression, position, message));
+    }
+
+    /**
+     * Returns the elements of the given document that are selected by the query in document order. The query does
+     * not build the name indexes of the elements, use {@link Element#getChildElements(String)} and
+     * {@link Element#getDescendants(String)} for repeated lookups in the same element tree.
+     *
+     * @param document the document
+     * @return the list of selected elements
+     * @throws IllegalStateException if the query selects texts or attribute values instead of elements
+     */
+    public List<Element> select(Document document) {
+        if (result != Result.ELEMENTS) {
+            throw new IllegalStateException("Query selects values instead of elements: " + expression);
+        }
+        if (!stepwise && document.getRoot() != null) {
+            List<Element> elements = new ArrayList<>();
+            collect(document.getRoot(), elements, null);
+            return elements;
+        }
+        return selectElements(document);
+    }
+
+    /**
+     * Returns the texts or attribute values of the given document that are selected by the query in document order.
+     *
+     * @param document the document
+     * @return the list of selected values
+     * @throws IllegalStateException if the query selects elements instead of texts or attribute values
+     */
+    public List<String> evaluate(Document document) {
+        if (result == Result.ELEMENTS) {
+            throw new IllegalStateException("Query selects elements instead of values: " + expression);
+        }
+        List<String> values = new ArrayList<>();
+        if (!stepwise && document.getRoot() != null) {
+            collect(document.getRoot(), null, values);
+            return values;
+        }
+        for (Element element : selectElements(document)) {
+            if (result == Result.TEXTS) {
+                values.addAll(element.getChildTexts());
+            } else {
+                String value = element.getAttributes().get(attribute);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads the remaining events of the given reader and returns the elements that are selected by the query in
+     * document order. Only the selected elements and their subtrees are built, all other elements are only parsed.
+     *
+     * @param reader the event reader positioned before the root element
+     * @return the list of selected elements
+     * @throws ParseException        if the input contains an invalid XML structure
+     * @throws IllegalStateException if the query selects texts or attribute values instead of elements
+     */
+    public List<Element> select(XmlEventReader reader) throws ParseException {
+        if (result != Result.ELEMENTS) {
+            throw new IllegalStateException("Query selects values instead of elements: " + expression);
+        }
+        List<Element> elements = new ArrayList<>();
+        stream(reader, elements, null);
+        return elements;
+    }
+
+    /**
+     * Reads the remaining events of the given reader and returns the texts or attribute values that are selected by
+     * the query in document order. No element tree is built.
+     *
+     * @param reader the event reader positioned before the root element
+     * @return the list of selected values
+     * @throws ParseException        if the input contains an invalid XML structure
+     * @throws IllegalStateException if the query selects elements instead of texts or attribute values
+     */
+    public List<String> evaluate(XmlEventReader reader) throws ParseException {
+        if (result == Result.ELEMENTS) {
+            throw new IllegalStateException("Query selects elements instead of values: " + expression);
+        }
+        List<String> values = new ArrayList<>();
+        stream(reader, null, values);
+        return values;
+    }
+
+    /**
+     * Returns the path expression the query was compiled from.
+     *
+     * @return the path expression
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private List<Element> selectElements(Document document) {
+        Element root = document.getRoot();
+        List<Element> contexts = new ArrayList<>();
+        if (root == null) {
+            return contexts;
+        }
+        // the first step is applied to the document, whose only child is the root element
+        if (steps[0].matches(root)) {
+            contexts.add(root);
+        }
+        if (steps[0].descendant) {
+            addDescendants(root, steps[0], contexts);
+        }
+        // only the last step can be a descendant step, so the contexts of each step have disjoint subtrees
+        for (int i = 1; i < steps.length && !contexts.isEmpty(); i++) {
+            Step step = steps[i];
+            List<Element> next = new ArrayList<>();
+            for (Element context : contexts) {
+                if (step.descendant) {
+                    addDescendants(context, step, next);
+                } else {
+                    // the children are scanned, so that a single query leaves no indexes attached to the elements
+                    for (int j = 0; j < ELEMENT_ACCESS.getChildCount(context); j++) {
+                        if (ELEMENT_ACCESS.getChild(context, j) instanceof Element child && step.matches(child)) {
+                            next.add(child);
+                        }
+                    }
+                }
+            }
+            contexts = next;
+        }
+        return contexts;
+    }
+
+    private static void addDescendants(Element context, Step step, List<Element> result) {
+        Deque<Element> stack = new ArrayDeque<>();
+        pushChildElements(context, stack);
+        while (!stack.isEmpty()) {
+            Element element = stack.pop();
+            if (step.matches(element)) {
+                result.add(element);
+            }
+            pushChildElements(element, stack);
+        }
+    }
+
+    private static void pushChildElements(Element element, Deque<Element> stack) {
+        for (int i = ELEMENT_ACCESS.getChildCount(element) - 1; i >= 0; i--) {
+            if (ELEMENT_ACCESS.getChild(element, i) instanceof Element child) {
+                stack.push(child);
+            }
+        }
+    }
+
+    // runs the automaton in a single pass over the element tree, so that nested results are in document order
+    private void collect(Element root, List<Element> selectedElements, List<String> values) {
+        Element[] elements = new Element[16];
+        long[] states = new long[16];
+        int[] indices = new int[16];
+        long selected = 1L << steps.length;
+        int depth = 0;
+        elements[0] = root;
+        states[0] = advance(1L, root.getName(), root.getAttributes());
+        addSelected(root, states[0], selectedElements, values);
+        while (depth >= 0) {
+            Element element = elements[depth];
+            int index = indices[depth]++;
+            if (index == ELEMENT_ACCESS.getChildCount(element) || states[depth] == 0) {
+                depth--;
+                continue;
+            }
+            Node child = ELEMENT_ACCESS.getChild(element, index);
+            if (child instanceof Text text) {
+                if (result == Result.TEXTS && (states[depth] & selected) != 0) {
+                    values.add(text.getText());
+                }
+                continue;
+            }
+            Element childElement = (Element) child;
+            long state = advance(states[depth], childElement.getName(), childElement.getAttributes());
+            addSelected(childElement, state, selectedElements, values);
+            if (state != 0) {
+                depth++;
+                if (depth == elements.length) {
+                    elements = Arrays.copyOf(elements, depth * 2);
+                    states = Arrays.copyOf(states, depth * 2);
+                    indices = Arrays.copyOf(indices, depth * 2);
+                }
+                elements[depth] = childElement;
+                states[depth] = state;
+                indices[depth] = 0;
+            }
+        }
+    }
+
+    private void addSelected(Element element, long state, List<Element> elements, List<String> values) {
+        if ((state & (1L << steps.length)) == 0) {
+            return;
+        }
+        if (result == Result.ELEMENTS) {
+            elements.add(element);
+        } else if (result == Result.ATTRIBUTES) {
+            String value = element.getAttributes().get(attribute);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+    }
+
+    private void stream(XmlEventReader reader, List<Element> elements, List<String> values) throws ParseException {
+        // the states of the open elements are kept as bit sets, bit i is set if the first i steps have matched
+        long[] states = new long[16];
+        Element[] built = new Element[16];
+        long selected = 1L << steps.length;
+        int depth = 0;
+        states[0] = 1L;
+        AttributeList attributes = new AttributeList();
+        attributes.setAlphabetical(false);
+        Map<String, String> attributeMap = attributes.asMap();
+        String name = null;
+        while (reader.hasNext()) {
+            XmlEventReader.Event event = reader.next();
+            if (event == XmlEventReader.Event.ATTRIBUTE) {
+                if (name != null) {
+                    attributes.add(reader.getName(), reader.getValue());
+                }
+                continue;
+            }
+            // an element is matched after all of its attributes have been read
+            if (name != null) {
+                long state = advance(states[depth], name, attributeMap);
+                Element parent = built[depth];
+                depth++;
+                if (depth == states.length) {
+                    states = Arrays.copyOf(states, depth * 2);
+                    built = Arrays.copyOf(built, depth * 2);
+                }
+                states[depth] = state;
+                built[depth] = null;
+                if ((state & selected) != 0 && result == Result.ATTRIBUTES) {
+                    String value = attributes.get(attribute);
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                if (elements != null && (parent != null || (state & selected) != 0)) {
+                    Element element = ELEMENT_ACCESS.createElement(name);
+                    for (int i = 0; i < attributes.size(); i++) {
+                        ELEMENT_ACCESS.addAttribute(element, attributes.getKey(i), attributes.getValue(i));
+                    }
+                    if (parent != null) {
+                        ELEMENT_ACCESS.addChild(parent, element);
+                    }
+                    if ((state & selected) != 0) {
+                        elements.add(element);
+                    }
+                    built[depth] = element;
+                }
+                name = null;
+            }
+            switch (event) {
+                case START_ELEMENT -> {
+                    name = reader.getName();
+                    attributes.clear();
+                }
+                case TEXT -> {
+                    if (built[depth] != null) {
+                        ELEMENT_ACCESS.addText(built[depth], reader.getValue());
+                    } else if (values != null && result == Result.TEXTS && (states[depth] & selected) != 0) {
+                        values.add(reader.getValue());
+                    }
+                }
+                case END_ELEMENT -> depth--;
+            }
+        }
+    }
+
+    boolean selectsElements() {
+        return result == Result.ELEMENTS;
+    }
+
+    boolean isSelected(long state) {
+        return (state & (1L << steps.length)) != 0;
+    }
+
+    long advance(long state, String name, Map<String, String> attributes) {
+        long result = 0;
+        for (int i = 0; i < steps.length; i++) {
+            if ((state & (1L << i)) != 0) {
+                Step step = steps[i];
+                if (step.descendant) {
+                    result |= 1L << i;
+                }
+                if (step.matches(name, attributes)) {
+                    result |= 1L << (i + 1);
+                }
+            }
+        }
+        return result;
+    }
+
+}
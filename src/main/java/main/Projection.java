@@ -0,0 +1,143 @@
+package main;
+
+import internal.AttributeList;
+import internal.ElementAccess;
+import internal.Parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the parts of a document that are kept when a document is parsed with a projection. The
+ * projection consists of path expressions selecting elements, see {@link PathQuery} for their syntax. The whole
+ * document is still checked for a valid XML structure, but only the selected elements with all of their attributes,
+ * texts and descendants are built. The elements containing selected elements are built with their names only, so that
+ * the selected elements keep their position in the element tree. The root element is always built.
+ */
+public class Projection {
+
+    private static final ElementAccess ELEMENT_ACCESS = ElementAccess.get();
+
+    private final List<PathQuery> queries = new ArrayList<>();
+
+    /**
+     * Adds a path expression selecting elements to keep.
+     *
+     * @param path the path expression
+     * @return the modified projection
+     * @throws IllegalArgumentException if the path expression is invalid or selects texts or attribute values instead
+     *                                  of elements
+     */
+    public Projection include(String path) {
+        PathQuery query = PathQuery.compile(path);
+        if (!query.selectsElements()) {
+            throw new IllegalArgumentException("Path expression does not select elements: " + path);
+        }
+        queries.add(query);
+        return this;
+    }
+
+    Document parse(Parser parser, ParseOptions options) throws ParseException {
+        int count = queries.size();
+        // the states of the queries for each open element that is not part of a selected subtree
+        long[] states = new long[16 * count];
+        String[] names = new String[16];
+        Element[] built = new Element[16];
+        Arrays.fill(states, 0, count, 1L);
+        int depth = 0, selectedDepth = 0;
+        AttributeList attributes = new AttributeList();
+        attributes.setAlphabetical(false);
+        Map<String, String> attributeMap = attributes.asMap();
+        Document result = null;
+        String name = null;
+        while (true) {
+            XmlEventReader.Event event = parser.next();
+            if (event == XmlEventReader.Event.ATTRIBUTE) {
+                attributes.add(parser.getName(), parser.getValue());
+                continue;
+            }
+            // an element is matched after all of its attributes have been read
+            if (name != null) {
+                depth++;
+                if (depth == names.length) {
+                    states = Arrays.copyOf(states, depth * 2 * count);
+                    names = Arrays.copyOf(names, depth * 2);
+                    built = Arrays.copyOf(built, depth * 2);
+                }
+                names[depth] = name;
+                built[depth] = null;
+                boolean selected = selectedDepth > 0;
+                if (!selected) {
+                    for (int i = 0; i < count; i++) {
+                        long state = queries.get(i).advance(states[(depth - 1) * count + i], name, attributeMap);
+                        states[depth * count + i] = state;
+                        selected |= queries.get(i).isSelected(state);
+                    }
+                    if (selected) {
+                        selectedDepth = depth;
+                        addAncestors(names, built, depth, options);
+                    }
+                }
+                if (selected) {
+                    Element element = createElement(name, options);
+                    for (int i = 0; i < attributes.size(); i++) {
+                        ELEMENT_ACCESS.addAttribute(element, attributes.getKey(i), attributes.getValue(i));
+                    }
+                    if (depth > 1) {
+                        ELEMENT_ACCESS.addChild(built[depth - 1], element);
+                    }
+                    built[depth] = element;
+                }
+                name = null;
+            }
+            switch (event) {
+                case START_DOCUMENT -> result = switch (parser.getType()) {
+                    case HTML -> SimpleXmlParser.createHtml();
+                    case XML -> SimpleXmlParser.createXml();
+                };
+                case START_ELEMENT -> {
+                    name = parser.getName();
+                    attributes.clear();
+                }
+                case TEXT -> {
+                    if (selectedDepth > 0) {
+                        ELEMENT_ACCESS.addText(built[depth], parser.getText());
+                    }
+                }
+                case END_ELEMENT -> {
+                    if (depth == selectedDepth) {
+                        selectedDepth = 0;
+                    }
+                    depth--;
+                }
+                case END_DOCUMENT -> {
+                    result.addRoot(built[1] != null ? built[1] : createElement(names[1], options));
+                    return result;
+                }
+            }
+        }
+    }
+
+    // builds the not yet built elements containing the element at the given depth
+    private static void addAncestors(String[] names, Element[] built, int depth, ParseOptions options) {
+        for (int i = 1; i < depth; i++) {
+            if (built[i] == null) {
+                built[i] = createElement(names[i], options);
+                if (i > 1) {
+                    ELEMENT_ACCESS.addChild(built[i - 1], built[i]);
+                }
+            }
+        }
+    }
+
+    private static Element createElement(String name, ParseOptions options) {
+        Element element = ELEMENT_ACCESS.createElement(name);
+        if (options.getAttributeOrder() != AttributeOrder.ALPHABETICAL) {
+            element.setAttributeOrder(options.getAttributeOrder());
+        }
+        return element;
+    }
+
+}
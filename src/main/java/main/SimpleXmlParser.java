@@ -1,7 +1,18 @@
 package main;
 
+import internal.LazyParser;
+import internal.ParallelParser;
 import internal.Parser;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 /**
@@ -10,8 +21,6 @@ import java.nio.file.Path;
  */
 public class SimpleXmlParser {
 
-    private static Parser parser = new Parser();
-
     private SimpleXmlParser() {
     }
 
@@ -35,15 +44,375 @@ public class SimpleXmlParser {
         return new internal.Document(internal.Document.Type.XML);
     }
 
+    /**
+     * Creates a writer that writes an HTML document element by element into the given stream without building an
+     * element tree. The document is encoded as UTF-8 and starts with an HTML doctype. The returned writer must be
+     * closed after use, which also closes the stream.
+     *
+     * @param stream the stream the document is written to
+     * @return the stream writer
+     */
+    public static XmlStreamWriter createHtmlStreamWriter(OutputStream stream) {
+        return createHtmlStreamWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a writer that writes an HTML document element by element into the given writer without building an
+     * element tree. The document starts with an HTML doctype. The returned writer must be closed after use, which also
+     * closes the given writer.
+     *
+     * @param writer the writer the document is written to
+     * @return the stream writer
+     */
+    public static XmlStreamWriter createHtmlStreamWriter(Writer writer) {
+        return new XmlStreamWriter(writer, internal.Document.HTML_DOCTYPE);
+    }
+
+    /**
+     * Creates a writer that writes an XML document element by element into the given stream without building an
+     * element tree. The document is encoded as UTF-8 and starts with an XML declaration. The returned writer must be
+     * closed after use, which also closes the stream.
+     *
+     * @param stream the stream the document is written to
+     * @return the stream writer
+     */
+    public static XmlStreamWriter createXmlStreamWriter(OutputStream stream) {
+        return createXmlStreamWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a writer that writes an XML document element by element into the given writer without building an
+     * element tree. The document starts with an XML declaration. The returned writer must be closed after use, which
+     * also closes the given writer.
+     *
+     * @param writer the writer the document is written to
+     * @return the stream writer
+     */
+    public static XmlStreamWriter createXmlStreamWriter(Writer writer) {
+        return new XmlStreamWriter(writer, internal.Document.XML_DOCTYPE);
+    }
+
     /**
      * Parses an XML structure contained in the given file. The XML structure will be transformed in an element tree.
+     * Every call uses its own parser state, so this method can be called concurrently from multiple threads.
      *
      * @param file the XML file
      * @return the parsed XML document
      * @throws ParseException if the file contains an invalid XML structure.
      */
     public static Document parse(Path file) throws ParseException {
-        return parser.parse(file);
+        return parse(file, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given file using the given options. The XML structure will be
+     * transformed in an element tree. Every call uses its own parser state, so this method can be called concurrently
+     * from multiple threads.
+     *
+     * @param file    the XML file
+     * @param options the options controlling how the file is read
+     * @return the parsed XML document
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public static Document parse(Path file, ParseOptions options) throws ParseException {
+        if (options.isLazy()) {
+            return new LazyParser(options).parse(file);
+        }
+        if (options.getParallelism() > 1) {
+            return new ParallelParser(options).parse(file);
+        }
+        return new Parser().parse(file, options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given file and builds only the parts of the element tree that are
+     * selected by the given projection. The whole file is checked for a valid XML structure. Every call uses its own
+     * parser state, so this method can be called concurrently from multiple threads.
+     *
+     * @param file       the XML file
+     * @param projection the projection selecting the elements to build
+     * @return the parsed XML document containing the selected elements
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public static Document parse(Path file, Projection projection) throws ParseException {
+        return parse(file, projection, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given file using the given options and builds only the parts of the
+     * element tree that are selected by the given projection. The whole file is checked for a valid XML structure. The
+     * file is always parsed sequentially and completely, so the options for lazy and parallel parsing are ignored.
+     * Every call uses its own parser state, so this method can be called concurrently from multiple threads.
+     *
+     * @param file       the XML file
+     * @param projection the projection selecting the elements to build
+     * @param options    the options controlling how the file is read
+     * @return the parsed XML document containing the selected elements
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public static Document parse(Path file, Projection projection, ParseOptions options) throws ParseException {
+        Parser parser = new Parser();
+        try (Reader reader = Parser.newReader(file, options)) {
+            parser.open(reader);
+            return projection.parse(parser, options);
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    /**
+     * Parses an XML structure contained in the given file and reports it to the given handler without building an
+     * element tree. Every call uses its own parser state, so this method can be called concurrently from multiple
+     * threads.
+     *
+     * @param file    the XML file
+     * @param handler the handler receiving the document's structure
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public static void parse(Path file, Handler handler) throws ParseException {
+        parse(file, handler, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given file using the given options and reports it to the given handler
+     * without building an element tree. Every call uses its own parser state, so this method can be called
+     * concurrently from multiple threads.
+     *
+     * @param file    the XML file
+     * @param handler the handler receiving the document's structure
+     * @param options the options controlling how the file is read
+     * @throws ParseException if the file contains an invalid XML structure.
+     */
+    public static void parse(Path file, Handler handler, ParseOptions options) throws ParseException {
+        new Parser().parse(file, handler, options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given input stream. The XML structure will be transformed in an element
+     * tree. The stream is read until the end of the document, but not closed.
+     *
+     * @param stream the UTF-8 encoded input stream
+     * @return the parsed XML document
+     * @throws ParseException if the stream contains an invalid XML structure.
+     */
+    public static Document parse(InputStream stream) throws ParseException {
+        return parse(stream, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given input stream using the given options. The XML structure will be
+     * transformed in an element tree. The stream is read until the end of the document, but not closed. A stream can
+     * only be read once from start to end, so the options for lazy and parallel parsing are ignored.
+     *
+     * @param stream  the UTF-8 encoded input stream
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the stream contains an invalid XML structure.
+     */
+    public static Document parse(InputStream stream, ParseOptions options) throws ParseException {
+        return new Parser().parse(Parser.newReader(stream), options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given input stream and reports it to the given handler without
+     * building an element tree. The stream is read until the end of the document, but not closed.
+     *
+     * @param stream  the UTF-8 encoded input stream
+     * @param handler the handler receiving the document's structure
+     * @throws ParseException if the stream contains an invalid XML structure.
+     */
+    public static void parse(InputStream stream, Handler handler) throws ParseException {
+        new Parser().parse(Parser.newReader(stream), handler);
+    }
+
+    /**
+     * Parses an XML structure contained in the given channel. The XML structure will be transformed in an element
+     * tree. The channel is read until the end of the document, but not closed.
+     *
+     * @param channel the channel providing UTF-8 encoded input
+     * @return the parsed XML document
+     * @throws ParseException if the channel contains an invalid XML structure.
+     */
+    public static Document parse(ReadableByteChannel channel) throws ParseException {
+        return parse(channel, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given channel using the given options. The XML structure will be
+     * transformed in an element tree. The channel is read until the end of the document, but not closed. A channel can
+     * only be read once from start to end, so the options for lazy and parallel parsing are ignored.
+     *
+     * @param channel the channel providing UTF-8 encoded input
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the channel contains an invalid XML structure.
+     */
+    public static Document parse(ReadableByteChannel channel, ParseOptions options) throws ParseException {
+        return new Parser().parse(Parser.newReader(channel), options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given channel and reports it to the given handler without building an
+     * element tree. The channel is read until the end of the document, but not closed.
+     *
+     * @param channel the channel providing UTF-8 encoded input
+     * @param handler the handler receiving the document's structure
+     * @throws ParseException if the channel contains an invalid XML structure.
+     */
+    public static void parse(ReadableByteChannel channel, Handler handler) throws ParseException {
+        new Parser().parse(Parser.newReader(channel), handler);
+    }
+
+    /**
+     * Parses an XML structure contained in the given byte array. The XML structure will be transformed in an element
+     * tree. The bytes are read in place without being copied.
+     *
+     * @param bytes the UTF-8 encoded input
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static Document parse(byte[] bytes) throws ParseException {
+        return parse(bytes, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given byte array using the given options. The XML structure will be
+     * transformed in an element tree. The bytes are read in place without being copied.
+     *
+     * @param bytes   the UTF-8 encoded input
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static Document parse(byte[] bytes, ParseOptions options) throws ParseException {
+        return parse(ByteBuffer.wrap(bytes), options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given byte array and reports it to the given handler without building
+     * an element tree. The bytes are read in place without being copied.
+     *
+     * @param bytes   the UTF-8 encoded input
+     * @param handler the handler receiving the document's structure
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static void parse(byte[] bytes, Handler handler) throws ParseException {
+        parse(ByteBuffer.wrap(bytes), handler);
+    }
+
+    /**
+     * Parses an XML structure contained in the remaining bytes of the given buffer. The XML structure will be
+     * transformed in an element tree. The bytes are read in place without being copied and the buffer's position is
+     * not changed.
+     *
+     * @param bytes the buffer containing the UTF-8 encoded input
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static Document parse(ByteBuffer bytes) throws ParseException {
+        return parse(bytes, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the remaining bytes of the given buffer using the given options. The XML
+     * structure will be transformed in an element tree. The bytes are read in place without being copied and the
+     * buffer's position is not changed.
+     *
+     * @param bytes   the buffer containing the UTF-8 encoded input
+     * @param options the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static Document parse(ByteBuffer bytes, ParseOptions options) throws ParseException {
+        if (options.isLazy()) {
+            return new LazyParser(options).parse(bytes);
+        }
+        if (options.getParallelism() > 1) {
+            return new ParallelParser(options).parse(bytes);
+        }
+        return new Parser().parse(Parser.newReader(bytes), options);
+    }
+
+    /**
+     * Parses an XML structure contained in the remaining bytes of the given buffer and reports it to the given handler
+     * without building an element tree. The bytes are read in place without being copied and the buffer's position is
+     * not changed.
+     *
+     * @param bytes   the buffer containing the UTF-8 encoded input
+     * @param handler the handler receiving the document's structure
+     * @throws ParseException if the bytes contain an invalid XML structure.
+     */
+    public static void parse(ByteBuffer bytes, Handler handler) throws ParseException {
+        new Parser().parse(Parser.newReader(bytes), handler);
+    }
+
+    /**
+     * Parses an XML structure contained in the given character sequence. The XML structure will be transformed in an
+     * element tree.
+     *
+     * @param characters the input characters
+     * @return the parsed XML document
+     * @throws ParseException if the characters contain an invalid XML structure.
+     */
+    public static Document parse(CharSequence characters) throws ParseException {
+        return parse(characters, new ParseOptions());
+    }
+
+    /**
+     * Parses an XML structure contained in the given character sequence using the given options. The XML structure will
+     * be transformed in an element tree. Lazy and parallel parsing work on UTF-8 encoded bytes, so these options are
+     * ignored for a character sequence.
+     *
+     * @param characters the input characters
+     * @param options    the options controlling how the input is read
+     * @return the parsed XML document
+     * @throws ParseException if the characters contain an invalid XML structure.
+     */
+    public static Document parse(CharSequence characters, ParseOptions options) throws ParseException {
+        return new Parser().parse(Parser.newReader(characters), options);
+    }
+
+    /**
+     * Parses an XML structure contained in the given character sequence and reports it to the given handler without
+     * building an element tree.
+     *
+     * @param characters the input characters
+     * @param handler    the handler receiving the document's structure
+     * @throws ParseException if the characters contain an invalid XML structure.
+     */
+    public static void parse(CharSequence characters, Handler handler) throws ParseException {
+        new Parser().parse(Parser.newReader(characters), handler);
+    }
+
+    /**
+     * Creates a pull parser that reads the XML structure contained in the given file event by event without building
+     * an element tree. The returned reader must be closed after use.
+     *
+     * @param file the XML file
+     * @return the event reader positioned before the first event
+     * @throws ParseException if the file cannot be opened
+     */
+    public static XmlEventReader createEventReader(Path file) throws ParseException {
+        return createEventReader(file, new ParseOptions());
+    }
+
+    /**
+     * Creates a pull parser that reads the XML structure contained in the given file event by event using the given
+     * options without building an element tree. The returned reader must be closed after use.
+     *
+     * @param file    the XML file
+     * @param options the options controlling how the file is read
+     * @return the event reader positioned before the first event
+     * @throws ParseException if the file cannot be opened
+     */
+    public static XmlEventReader createEventReader(Path file, ParseOptions options) throws ParseException {
+        Parser parser = new Parser();
+        try {
+            parser.open(Parser.newReader(file, options));
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+        return new XmlEventReader(parser);
     }
 
 }
@@ -0,0 +1,137 @@
+package main;
+
+import internal.Parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a pull parser that reads an XML structure event by event without building an element tree.
+ * Only the names of the currently open elements are kept in memory, so documents of arbitrary size can be processed.
+ * The data of an event, like an element's name or a text, is only available until the next event is read.
+ */
+public class XmlEventReader implements Closeable {
+
+    /**
+     * The events reported by the reader in document order. An element's attributes are reported directly after its
+     * START_ELEMENT event. A short closed element like {@code <name />} is reported as START_ELEMENT directly followed
+     * by END_ELEMENT.
+     */
+    public enum Event {
+        START_DOCUMENT,
+        START_ELEMENT,
+        ATTRIBUTE,
+        TEXT,
+        END_ELEMENT,
+        END_DOCUMENT
+    }
+
+    private final Parser parser;
+    private Event event;
+    // the parser cannot continue after an invalid XML structure
+    private ParseException error;
+
+    XmlEventReader(Parser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Returns whether there are more events to read. This is the case until the END_DOCUMENT event has been read or
+     * an invalid XML structure has been found.
+     *
+     * @return true, if more events can be read
+     */
+    public boolean hasNext() {
+        return event != Event.END_DOCUMENT && error == null;
+    }
+
+    /**
+     * Reads the next event. Once an invalid XML structure has been found, every further call throws the same
+     * exception.
+     *
+     * @return the read event
+     * @throws ParseException         if the input contains an invalid XML structure
+     * @throws NoSuchElementException if the END_DOCUMENT event has already been read
+     */
+    public Event next() throws ParseException {
+        if (error != null) {
+            throw error;
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException("End of document already reached");
+        }
+        try {
+            event = parser.next();
+        } catch (ParseException e) {
+            error = e;
+            throw e;
+        }
+        return event;
+    }
+
+    /**
+     * Returns the event that was read last.
+     *
+     * @return the current event or null if no event has been read yet
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns whether the document starts with an HTML doctype instead of an XML declaration. This information is
+     * available from the START_DOCUMENT event on.
+     *
+     * @return true, if the document is an HTML document
+     */
+    public boolean isHtml() {
+        if (event == null) {
+            throw new IllegalStateException("No event has been read yet");
+        }
+        return parser.getType() == internal.Document.Type.HTML;
+    }
+
+    /**
+     * Returns the element's name for START_ELEMENT and END_ELEMENT events and the attribute's key for ATTRIBUTE
+     * events.
+     *
+     * @return the name of the current event
+     * @throws IllegalStateException if the current event has no name
+     */
+    public String getName() {
+        if (event != Event.START_ELEMENT && event != Event.END_ELEMENT && event != Event.ATTRIBUTE) {
+            throw new IllegalStateException(String.format("Event %s has no name", event));
+        }
+        return parser.getName();
+    }
+
+    /**
+     * Returns the attribute's value for ATTRIBUTE events and the text for TEXT events. The value of an attribute
+     * without value is empty.
+     *
+     * @return the value of the current event
+     * @throws IllegalStateException if the current event has no value
+     */
+    public String getValue() {
+        if (event == Event.ATTRIBUTE) {
+            return parser.getValue();
+        }
+        if (event == Event.TEXT) {
+            return parser.getText();
+        }
+        throw new IllegalStateException(String.format("Event %s has no value", event));
+    }
+
+    /**
+     * Closes the underlying input. No further events can be read afterwards.
+     *
+     * @throws IOException if the input cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        event = Event.END_DOCUMENT;
+        parser.close();
+    }
+
+}
@@ -0,0 +1,302 @@
+package main;
+
+import internal.AttributeList;
+import internal.Parser;
+import internal.XmlWriter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class represents a writer that produces an XML structure element by element without building an element tree.
+ * The output is the same as that of an equivalent element tree exported as XML, including the indentation and the
+ * order of the attributes. Only the names of the currently open elements, the attributes of the last started element
+ * and a text that has not been followed by another node yet are kept in memory, so documents of arbitrary size can be
+ * written.
+ */
+public class XmlStreamWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+    private final XmlWriter xmlWriter;
+    private final AttributeList attributes = new AttributeList();
+    private final StringBuilder text = new StringBuilder();
+    private String[] names = new String[16];
+    // the indentation of each open element and of its last written child
+    private boolean[] indented = new boolean[16];
+    private boolean[] lastChildIndented = new boolean[16];
+    private boolean[] hasChildren = new boolean[16];
+    private int depth;
+    private boolean startTagOpen, textIndented, rootWritten;
+    private String declaration;
+
+    XmlStreamWriter(Writer writer, String declaration) {
+        this.writer = writer;
+        this.declaration = declaration;
+        xmlWriter = new XmlWriter(writer);
+        attributes.setAlphabetical(true);
+    }
+
+    /**
+     * Sets the order in which the attributes of the following elements are written. The default is
+     * {@link AttributeOrder#ALPHABETICAL}, which is also the default order of an element tree.
+     *
+     * @param attributeOrder the order of the elements' attributes
+     * @return the modified writer
+     */
+    public XmlStreamWriter setAttributeOrder(AttributeOrder attributeOrder) {
+        attributes.setAlphabetical(Objects.requireNonNull(attributeOrder) == AttributeOrder.ALPHABETICAL);
+        return this;
+    }
+
+    /**
+     * Sets the profile that controls the whitespace of the following output. The default is
+     * {@link OutputProfile#PRETTY}. The profile should be set before the root element is started, because the
+     * whitespace of the already written output cannot be changed.
+     *
+     * @param outputProfile the output profile
+     * @return the modified writer
+     */
+    public XmlStreamWriter setOutputProfile(OutputProfile outputProfile) {
+        xmlWriter.setCompact(Objects.requireNonNull(outputProfile) == OutputProfile.COMPACT);
+        return this;
+    }
+
+    /**
+     * Starts an element with a given name. The element is added after the already written child nodes of the
+     * currently open element or as the document's root element. When exporting the element, it will be indented,
+     * which will add whitespace before and after the element when interpreted as HTML.
+     *
+     * @param name the element's name
+     * @return the modified writer
+     * @throws IOException              if the output cannot be written
+     * @throws IllegalArgumentException if the name contains characters that do not match the requirements of XML
+     *                                  names
+     * @throws IllegalStateException    if the root element has already been ended
+     */
+    public XmlStreamWriter startElement(String name) throws IOException {
+        return startElement(name, false);
+    }
+
+    /**
+     * Starts an element with a given name. The element is added after the already written child nodes of the
+     * currently open element or as the document's root element. If preventIndent is set to true, the element will not
+     * be indented, which prevents whitespace before and after the element when interpreted as HTML.
+     *
+     * @param name          the element's name
+     * @param preventIndent true, if the element shall not be indented
+     * @return the modified writer
+     * @throws IOException              if the output cannot be written
+     * @throws IllegalArgumentException if the name contains characters that do not match the requirements of XML
+     *                                  names
+     * @throws IllegalStateException    if the root element has already been ended
+     */
+    public XmlStreamWriter startElement(String name, boolean preventIndent) throws IOException {
+        if (!Parser.isName(name)) {
+            throw new IllegalArgumentException("Illegal character in element name");
+        }
+        if (depth == 0 && rootWritten) {
+            throw new IllegalStateException("Root element has already been written");
+        }
+        writeDeclaration();
+        if (depth > 0) {
+            // a preceding text is indented like the element that follows it
+            if (!text.isEmpty()) {
+                textIndented = !preventIndent;
+                writeText();
+            } else if (startTagOpen) {
+                writeStartTag(!preventIndent);
+            }
+            hasChildren[depth - 1] = true;
+            lastChildIndented[depth - 1] = !preventIndent;
+        }
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indented = Arrays.copyOf(indented, depth * 2);
+            lastChildIndented = Arrays.copyOf(lastChildIndented, depth * 2);
+            hasChildren = Arrays.copyOf(hasChildren, depth * 2);
+        }
+        names[depth] = name;
+        indented[depth] = !preventIndent;
+        hasChildren[depth] = false;
+        depth++;
+        rootWritten = true;
+        if (!preventIndent) {
+            xmlWriter.indent(depth - 1);
+        }
+        xmlWriter.write('<');
+        xmlWriter.writeEscaped(name);
+        startTagOpen = true;
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the last started element with a given key and value. If the element already contains an
+     * attribute for the given key, the old value is replaced by the specified value.
+     *
+     * @param key   the attribute's key
+     * @param value the attribute's value
+     * @return the modified writer
+     * @throws IllegalArgumentException if the key contains characters that do not match the requirements of XML names
+     * @throws IllegalStateException    if a child node has already been added to the last started element
+     */
+    public XmlStreamWriter attribute(String key, String value) {
+        if (!Parser.isName(key)) {
+            throw new IllegalArgumentException("Illegal character in attribute key");
+        }
+        if (!startTagOpen || !text.isEmpty()) {
+            throw new IllegalStateException("Attributes must be added before the element's child nodes");
+        }
+        attributes.add(key, value);
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the last started element with a given key and an empty value. If the element already
+     * contains an attribute for the given key, the old value is replaced by an empty value.
+     *
+     * @param key the attribute's key
+     * @return the modified writer
+     * @throws IllegalArgumentException if the key contains characters that do not match the requirements of XML names
+     * @throws IllegalStateException    if a child node has already been added to the last started element
+     */
+    public XmlStreamWriter attribute(String key) {
+        return attribute(key, "");
+    }
+
+    /**
+     * Adds the given text to the currently open element. If the text directly follows another text, both are merged
+     * into one text node. The text is held back until the next node is written, because its indentation depends on
+     * the following element.
+     *
+     * @param text the text
+     * @return the modified writer
+     * @throws IllegalArgumentException if the text is blank
+     * @throws IllegalStateException    if no element is open
+     */
+    public XmlStreamWriter text(String text) {
+        if (text.isBlank()) {
+            throw new IllegalArgumentException("Text must not be blank");
+        }
+        if (depth == 0) {
+            throw new IllegalStateException("Text must be added to an element");
+        }
+        if (this.text.isEmpty()) {
+            textIndented = hasChildren[depth - 1] && lastChildIndented[depth - 1];
+        }
+        this.text.append(text);
+        return this;
+    }
+
+    /**
+     * Ends the currently open element.
+     *
+     * @return the modified writer
+     * @throws IOException           if the output cannot be written
+     * @throws IllegalStateException if no element is open
+     */
+    public XmlStreamWriter endElement() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No element is open");
+        }
+        if (!text.isEmpty()) {
+            writeText();
+        }
+        depth--;
+        if (startTagOpen) {
+            writeAttributes();
+            xmlWriter.write(" />");
+            if (indented[depth]) {
+                xmlWriter.newLine();
+            }
+        } else {
+            if (lastChildIndented[depth]) {
+                xmlWriter.indent(depth);
+            }
+            xmlWriter.write("</");
+            xmlWriter.writeEscaped(names[depth]);
+            xmlWriter.write('>');
+            xmlWriter.newLine();
+        }
+        names[depth] = null;
+        return this;
+    }
+
+    /**
+     * Writes all buffered output to the underlying output and flushes it. A start tag whose element has no child
+     * nodes yet and a text that has not been followed by another node are not written, because their form depends on
+     * the following nodes.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        xmlWriter.flush();
+    }
+
+    /**
+     * Flushes the writer and closes the underlying output. Elements that are still open are not ended.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeDeclaration();
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    // the declaration is written with the root element, so that the output profile can still be set before
+    private void writeDeclaration() throws IOException {
+        if (declaration != null) {
+            xmlWriter.write(declaration);
+            xmlWriter.newLine();
+            declaration = null;
+        }
+    }
+
+    private void writeText() throws IOException {
+        if (startTagOpen) {
+            writeStartTag(textIndented);
+        }
+        if (textIndented) {
+            xmlWriter.indent(depth);
+            xmlWriter.writeEscaped(text.toString());
+            xmlWriter.newLine();
+        } else {
+            xmlWriter.writeEscaped(text.toString());
+        }
+        text.setLength(0);
+        hasChildren[depth - 1] = true;
+        lastChildIndented[depth - 1] = textIndented;
+    }
+
+    // the start tag is completed once the first child of its element is known
+    private void writeStartTag(boolean firstChildIndented) throws IOException {
+        writeAttributes();
+        xmlWriter.write('>');
+        if (firstChildIndented) {
+            xmlWriter.newLine();
+        }
+    }
+
+    private void writeAttributes() throws IOException {
+        for (int i = 0; i < attributes.size(); i++) {
+            xmlWriter.write(' ');
+            xmlWriter.writeEscaped(attributes.getKey(i));
+            if (!attributes.getValue(i).isEmpty()) {
+                xmlWriter.write("=\"");
+                xmlWriter.writeEscaped(attributes.getValue(i));
+                xmlWriter.write('"');
+            }
+        }
+        attributes.clear();
+        startTagOpen = false;
+    }
+}
@@ -0,0 +1,126 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class AttributeListTest {
+
+    @Test
+    public void testAdd() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key2", "value2");
+        attributeList.add("key1", "value1");
+        Assert.assertEquals(attributeList.size(), 2);
+        Assert.assertEquals(attributeList.getKey(0), "key2");
+        Assert.assertEquals(attributeList.getValue(0), "value2");
+        Assert.assertEquals(attributeList.getKey(1), "key1");
+        Assert.assertEquals(attributeList.getValue(1), "value1");
+    }
+
+    @Test
+    public void testAdd1() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key1", "value1");
+        attributeList.add("key2", "value2");
+        attributeList.add("key1", "overwritten");
+        Assert.assertEquals(attributeList.size(), 2);
+        Assert.assertEquals(attributeList.getKey(0), "key1");
+        Assert.assertEquals(attributeList.getValue(0), "overwritten");
+    }
+
+    @Test
+    public void testAdd2() {
+        AttributeList attributeList = new AttributeList();
+        for (int i = 0; i < 100; i++) {
+            attributeList.add("key" + i, "value" + i);
+        }
+        Assert.assertEquals(attributeList.size(), 100);
+        Assert.assertEquals(attributeList.get("key99"), "value99");
+    }
+
+    @Test
+    public void testClear() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key", "value");
+        attributeList.clear();
+        Assert.assertEquals(attributeList.size(), 0);
+        Assert.assertNull(attributeList.get("key"));
+    }
+
+    @Test
+    public void testGet() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key", "value");
+        Assert.assertEquals(attributeList.get("key"), "value");
+        Assert.assertNull(attributeList.get("other"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetKey() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key", "value");
+        attributeList.getKey(1);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetValue() {
+        new AttributeList().getValue(0);
+    }
+
+    @Test
+    public void testSetAlphabetical() {
+        AttributeList attributeList = new AttributeList(2);
+        attributeList.setAlphabetical(true);
+        attributeList.add("key3", "value3");
+        attributeList.add("key1", "value1");
+        attributeList.add("key2", "value2");
+        Assert.assertEquals(attributeList.getKey(0), "key1");
+        Assert.assertEquals(attributeList.getValue(0), "value1");
+        Assert.assertEquals(attributeList.getKey(2), "key3");
+        Assert.assertEquals(attributeList.getValue(2), "value3");
+        attributeList.add("key0", "value0");
+        Assert.assertEquals(attributeList.getKey(0), "key0");
+        Assert.assertEquals(attributeList.get("key2"), "value2");
+    }
+
+    @Test
+    public void testSetAlphabetical1() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key2", "value2");
+        attributeList.add("key3", "value3");
+        attributeList.add("key1", "value1");
+        attributeList.setAlphabetical(true);
+        attributeList.add("key2", "overwritten");
+        Assert.assertEquals(attributeList.size(), 3);
+        Assert.assertEquals(new ArrayList<>(attributeList.asMap().keySet()), List.of("key1", "key2", "key3"));
+        Assert.assertEquals(attributeList.getValue(1), "overwritten");
+        attributeList.setAlphabetical(false);
+        attributeList.add("key0", "value0");
+        Assert.assertEquals(new ArrayList<>(attributeList.asMap().keySet()), List.of("key1", "key2", "key3", "key0"));
+    }
+
+    @Test
+    public void testAsMap() {
+        AttributeList attributeList = new AttributeList();
+        attributeList.add("key2", "value2");
+        attributeList.add("key1", "value1");
+        Map<String, String> map = attributeList.asMap();
+        Assert.assertEquals(new ArrayList<>(map.keySet()), List.of("key2", "key1"));
+        Assert.assertEquals(map.get("key1"), "value1");
+        Assert.assertTrue(map.containsKey("key2"));
+        Assert.assertFalse(map.containsKey("key3"));
+        attributeList.setAlphabetical(true);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), List.of("key1", "key2"));
+        Assert.assertEquals(map, Map.of("key1", "value1", "key2", "value2"));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testAsMap1() {
+        new AttributeList().asMap().put("key", "value");
+    }
+
+}
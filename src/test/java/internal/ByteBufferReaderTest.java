@@ -0,0 +1,67 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+
+public class ByteBufferReaderTest {
+
+    private static String readAll(Reader reader, int blockSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] block = new char[blockSize];
+        int count;
+        while ((count = reader.read(block, 0, block.length)) >= 0) {
+            result.append(block, 0, count);
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        String text = "ASCII text";
+        ByteBufferReader reader = new ByteBufferReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(readAll(reader, 4), text);
+    }
+
+    @Test
+    public void testRead1() throws IOException {
+        String text = "äöü grüße 日本語 😀 text";
+        ByteBufferReader reader = new ByteBufferReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(readAll(reader, 1024), text);
+    }
+
+    @Test
+    public void testRead2() throws IOException {
+        String text = "a😀b😀😀ü";
+        for (int blockSize = 1; blockSize < 5; blockSize++) {
+            ByteBufferReader reader = new ByteBufferReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+            Assert.assertEquals(readAll(reader, blockSize), text);
+        }
+    }
+
+    @Test
+    public void testRead3() throws IOException {
+        ByteBufferReader reader = new ByteBufferReader(ByteBuffer.allocate(0));
+        Assert.assertEquals(reader.read(new char[8], 0, 8), -1);
+    }
+
+    @Test(expectedExceptions = MalformedInputException.class)
+    public void testRead4() throws IOException {
+        ByteBufferReader reader = new ByteBufferReader(ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3, 'b'}));
+        readAll(reader, 8);
+    }
+
+    @Test
+    public void testRead5() throws IOException {
+        String text = "direct äöü buffer";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        Assert.assertEquals(readAll(new ByteBufferReader(buffer), 3), text);
+    }
+
+}
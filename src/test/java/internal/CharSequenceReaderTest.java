@@ -0,0 +1,45 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.CharBuffer;
+
+public class CharSequenceReaderTest {
+
+    private static String readAll(CharSequenceReader reader) {
+        StringBuilder result = new StringBuilder();
+        char[] block = new char[3];
+        int count;
+        while ((count = reader.read(block, 0, block.length)) >= 0) {
+            result.append(block, 0, count);
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void testRead() {
+        Assert.assertEquals(readAll(new CharSequenceReader("string input")), "string input");
+    }
+
+    @Test
+    public void testRead1() {
+        Assert.assertEquals(readAll(new CharSequenceReader(new StringBuilder("builder input"))), "builder input");
+    }
+
+    @Test
+    public void testRead2() {
+        Assert.assertEquals(readAll(new CharSequenceReader(CharBuffer.wrap("buffer input"))), "buffer input");
+    }
+
+    @Test
+    public void testRead3() {
+        Assert.assertEquals(new CharSequenceReader("").read(new char[3], 0, 3), -1);
+    }
+
+    @Test
+    public void testRead4() {
+        Assert.assertEquals(new CharSequenceReader("input").read(new char[3], 0, 0), 0);
+    }
+
+}
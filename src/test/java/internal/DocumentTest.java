@@ -1,11 +1,17 @@
 package internal;
 
 import main.Element;
+import main.OutputProfile;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -34,6 +40,75 @@ public class DocumentTest {
         Files.delete(tmp);
     }
 
+    @Test
+    public void testToXml1() throws IOException {
+        Path tmp = Files.createTempFile("xml", null);
+        Document document = new Document(Document.Type.HTML);
+        document.addRoot(new Element("root").addChild("äöü 日本語"));
+        document.toXml(tmp);
+        Assert.assertEquals(Files.readString(tmp, StandardCharsets.UTF_8),
+                "<!DOCTYPE html>\n<root>äöü 日本語</root>\n");
+        Files.delete(tmp);
+    }
+
+    @Test
+    public void testToXml2() throws IOException {
+        Document document = new Document(Document.Type.XML);
+        document.addRoot(new Element("root").addChild("äöü"));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        document.toXml(stream);
+        Assert.assertEquals(stream.toString(StandardCharsets.UTF_8), "<?xml version=\"1.0\" ?>\n<root>äöü</root>\n");
+    }
+
+    @Test
+    public void testToXml3() throws IOException {
+        Document document = new Document(Document.Type.XML);
+        document.addRoot(new Element("root"));
+        StringWriter writer = new StringWriter();
+        document.toXml(writer);
+        Assert.assertEquals(writer.toString(), "<?xml version=\"1.0\" ?>\n<root />\n");
+    }
+
+    @Test
+    public void testToXml4() throws IOException {
+        Document document = new Document(Document.Type.XML);
+        document.addRoot(new Element("root").addChild("日本語"));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(stream)) {
+            document.toXml(channel);
+            Assert.assertTrue(channel.isOpen());
+        }
+        Assert.assertEquals(stream.toString(StandardCharsets.UTF_8), "<?xml version=\"1.0\" ?>\n<root>日本語</root>\n");
+    }
+
+    @Test
+    public void testToXml5() throws IOException {
+        Document document = new Document(Document.Type.XML);
+        document.setOutputProfile(OutputProfile.COMPACT);
+        Element root = new Element("root").addChild("text1").addChild(new Element("child").addAttribute("key"));
+        document.addRoot(root.addChild("text2").addChild(new Element("child", "text3"), true));
+        StringWriter writer = new StringWriter();
+        document.toXml(writer);
+        Assert.assertEquals(writer.toString(),
+                "<?xml version=\"1.0\" ?><root>text1<child key />text2<child>text3</child></root>");
+    }
+
+    @Test
+    public void testSetOutputProfile() {
+        Document document = new Document(Document.Type.XML);
+        Assert.assertEquals(document.getOutputProfile(), OutputProfile.PRETTY);
+        document.setOutputProfile(OutputProfile.COMPACT);
+        Assert.assertEquals(document.getOutputProfile(), OutputProfile.COMPACT);
+    }
+
+    @Test
+    public void testToBytes() {
+        Document document = new Document(Document.Type.XML);
+        document.addRoot(new Element("root").addChild("äöü"));
+        Assert.assertEquals(new String(document.toBytes(), StandardCharsets.UTF_8),
+                "<?xml version=\"1.0\" ?>\n<root>äöü</root>\n");
+    }
+
     @Test
     public void testAddRoot() {
         Document document = new Document(Document.Type.XML);
@@ -0,0 +1,62 @@
+package internal;
+
+import main.Element;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementAccessTest {
+
+    @Test
+    public void testCreateElement() {
+        Element element = ElementAccess.get().createElement("name");
+        Assert.assertEquals(element.getName(), "name");
+        Assert.assertTrue(element.isIndented());
+    }
+
+    @Test
+    public void testAddAttribute() {
+        Element element = ElementAccess.get().createElement("name");
+        ElementAccess.get().addAttribute(element, "key", "value");
+        Assert.assertEquals(element.getAttributes().size(), 1);
+        Assert.assertEquals(element.getAttributes().get("key"), "value");
+    }
+
+    @Test
+    public void testGetAttributes() {
+        Element element = ElementAccess.get().createElement("name");
+        Assert.assertNull(ElementAccess.get().getAttributes(element));
+        element.addAttribute("key", "value");
+        Assert.assertEquals(ElementAccess.get().getAttributes(element).get("key"), "value");
+    }
+
+    @Test
+    public void testGetChild() {
+        Element element = new Element("name").addChild("text").addChild(new Element("child"));
+        Assert.assertEquals(ElementAccess.get().getChildCount(element), 2);
+        Assert.assertEquals(((Text) ElementAccess.get().getChild(element, 0)).getText(), "text");
+        Assert.assertEquals(((Element) ElementAccess.get().getChild(element, 1)).getName(), "child");
+    }
+
+    @Test
+    public void testCreateElement1() {
+        int[] loads = new int[1];
+        Element element = ElementAccess.get().createElement("name", e -> {
+            loads[0]++;
+            ElementAccess.get().addAttribute(e, "key", "value");
+            ElementAccess.get().addText(e, "text");
+            ElementAccess.get().addChild(e, ElementAccess.get().createElement("child"));
+        });
+        Assert.assertEquals(element.getName(), "name");
+        Assert.assertEquals(loads[0], 0);
+        Assert.assertEquals(element.getAttributes().get("key"), "value");
+        Assert.assertEquals(element.getChildTexts().get(0), "text");
+        Assert.assertEquals(element.getChildElements().get(0).getName(), "child");
+        Assert.assertEquals(loads[0], 1);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testSet() {
+        ElementAccess.set(ElementAccess.get());
+    }
+
+}
@@ -0,0 +1,163 @@
+package internal;
+
+import main.AttributeOrder;
+import main.Document;
+import main.Element;
+import main.ParseException;
+import main.ParseOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LazyParserTest {
+
+    @Test
+    public void testParse() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root key=\"value\">text1" + createRecords(50) + "text2</root>\n";
+        ParseOptions options = new ParseOptions().lazy(true);
+        Document document = new LazyParser(options).parse(toBuffer(xml));
+        Assert.assertEquals(document.getRoot().getChildElements().size(), 50);
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test
+    public void testParse1() throws ParseException, IOException {
+        String xml = "<!DOCTYPE html>\n<html>\n  " + createRecords(10) + "\n</html>\n";
+        ParseOptions options = new ParseOptions().lazy(true);
+        Document document = new LazyParser(options).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test
+    public void testParse2() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "</root>";
+        Path file = Files.createTempFile("xml", null);
+        Files.writeString(file, xml);
+        ParseOptions options = new ParseOptions().lazy(true);
+        Document document = new LazyParser(options).parse(file);
+        Assert.assertEquals(toString(document), toString(new Parser().parse(file, options)));
+        Files.delete(file);
+    }
+
+    @Test
+    public void testParse3() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root />";
+        Document document = new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), "<?xml version=\"1.0\" ?>\n<root />\n");
+    }
+
+    @Test
+    public void testParse4() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root><a z=\"v1\" b=\"v2\" m=\"v3\" /></root>";
+        ParseOptions options = new ParseOptions().lazy(true).attributeOrder(AttributeOrder.INSERTION);
+        Element a = new LazyParser(options).parse(toBuffer(xml)).getRoot().getChildElements().get(0);
+        Assert.assertEquals(new ArrayList<>(a.getAttributes().keySet()), List.of("z", "b", "m"));
+    }
+
+    @Test
+    public void testParse5() throws ParseException {
+        // the invalid subtree is only parsed when it is accessed
+        String xml = "<?xml version=\"1.0\" ?>\n<root><a><b></c></a><d>ok</d></root>";
+        Element root = new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml)).getRoot();
+        Element b = root.getChildElements().get(0).getChildElements().get(0);
+        Element d = root.getChildElements().get(1);
+        Assert.assertEquals(d.getChildTexts().get(0), "ok");
+        Assert.assertThrows(IllegalStateException.class, b::getChildElements);
+        Assert.assertThrows(IllegalStateException.class, b::getChildElements);
+    }
+
+    @Test
+    public void testParse10() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "</root>";
+        Element root = new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml)).getRoot();
+        Assert.assertEquals(root.getDescendants("deeper").size(), 20);
+        Assert.assertEquals(root.getFirstChild("record").getAttributes().get("id"), "r0");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testParse6() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(5) + "</toor>";
+        new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml)).getRoot().getChildElements();
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 2 at.*")
+    public void testParse7() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(5) + "</root>trailing";
+        new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml));
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 3 at column 1:.*instead of end of stream")
+    public void testParse11() throws ParseException {
+        // only whitespace is allowed after the root element, the epilogue is not deferred
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(5) + "</root>\n\u0001";
+        new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer(xml));
+    }
+
+    @Test(expectedExceptions = ParseException.class)
+    public void testParse8() throws ParseException {
+        new LazyParser(new ParseOptions().lazy(true)).parse(toBuffer("<root />"));
+    }
+
+    @Test
+    public void testParse9() throws Exception {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(200) + "</root>";
+        ParseOptions options = new ParseOptions().lazy(true);
+        Document document = new LazyParser(options).parse(toBuffer(xml));
+        String expected = toString(new Parser().parse(Parser.newReader(xml), options));
+        // the elements are loaded by whichever thread accesses them first
+        Callable<String> task = () -> {
+            try {
+                return toString(document);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = executor.invokeAll(List.of(task, task, task, task));
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String createRecords(int count) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            result.append("<record id=\"r").append(i).append("\" active><name>Grüße ").append(i)
+                    .append(" &amp; 日本語</name><empty /><nested><deeper>").append(i * 7)
+                    .append("</deeper>tail</nested></record>");
+            if (i % 3 == 0) {
+                result.append("between ").append(i);
+            }
+        }
+        return result.toString();
+    }
+
+    private static ByteBuffer toBuffer(String xml) {
+        return ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(Document document) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        document.toXml(stringWriter);
+        return stringWriter.toString();
+    }
+
+}
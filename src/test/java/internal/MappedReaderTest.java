@@ -0,0 +1,44 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MappedReaderTest {
+
+    @Test
+    public void testRead() throws IOException {
+        Path file = Files.createTempFile("xml", null);
+        String text = "<äöü>grüße 日本語 😀 text</äöü>";
+        Files.writeString(file, text);
+        try {
+            for (int windowSize = 4; windowSize < 12; windowSize++) {
+                StringBuilder result = new StringBuilder();
+                try (MappedReader reader = new MappedReader(file, windowSize)) {
+                    char[] block = new char[7];
+                    int count;
+                    while ((count = reader.read(block, 0, block.length)) >= 0) {
+                        result.append(block, 0, count);
+                    }
+                }
+                Assert.assertEquals(result.toString(), text);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRead1() throws IOException {
+        Path file = Files.createTempFile("xml", null);
+        try (MappedReader reader = new MappedReader(file)) {
+            Assert.assertEquals(reader.read(new char[8], 0, 8), -1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -7,13 +7,6 @@ import java.io.PrintWriter;
 
 public class NodeTest {
 
-    @Test
-    public void testEncode() {
-        String input = "TEXT\"TEXT&TEXT<TEXT>TEXT\"TEXT&TEXT<TEXT>Ü";
-        Assert.assertEquals(Node.encode(input),
-                "TEXT&quot;TEXT&amp;TEXT&lt;TEXT&gt;TEXT&quot;TEXT&amp;TEXT&lt;TEXT&gt;Ü");
-    }
-
     @Test
     public void testGetType() {
         Node child = new Node(Node.Type.ELEMENT, true) {
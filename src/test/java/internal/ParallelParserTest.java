@@ -0,0 +1,123 @@
+package internal;
+
+import main.Document;
+import main.Element;
+import main.ParseException;
+import main.ParseOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ParallelParserTest {
+
+    @Test
+    public void testParse() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root key=\"value\">text1" + createRecords(200) + "text2</root>\n";
+        ParseOptions options = new ParseOptions().parallelism(4);
+        Document document = new ParallelParser(options, 64).parse(toBuffer(xml));
+        Assert.assertEquals(document.getRoot().getChildElements().size(), 200);
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test
+    public void testParse1() throws ParseException, IOException {
+        String xml = "<!DOCTYPE html>\n<html>\n  " + createRecords(100) + "\n</html>\n";
+        ParseOptions options = new ParseOptions().parallelism(3);
+        Document document = new ParallelParser(options, 100).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test
+    public void testParse2() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(500) + "</root>";
+        Path file = Files.createTempFile("xml", null);
+        Files.writeString(file, xml);
+        ParseOptions options = new ParseOptions().parallelism(4);
+        Document document = new ParallelParser(options, 256).parse(file);
+        Assert.assertEquals(toString(document), toString(new Parser().parse(file, options)));
+        Files.delete(file);
+    }
+
+    @Test
+    public void testParse3() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root />";
+        Document document = new ParallelParser(new ParseOptions().parallelism(2), 1).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), "<?xml version=\"1.0\" ?>\n<root />\n");
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 2 at column 2321: Unexpected element name .c. instead of .a.")
+    public void testParse4() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "<a></c>" + createRecords(20) + "</root>";
+        new ParallelParser(new ParseOptions().parallelism(4), 64).parse(toBuffer(xml));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 2 at.*")
+    public void testParse5() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "</toor>";
+        new ParallelParser(new ParseOptions().parallelism(4), 64).parse(toBuffer(xml));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 2 at.*")
+    public void testParse6() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "</root>trailing";
+        new ParallelParser(new ParseOptions().parallelism(4), 64).parse(toBuffer(xml));
+    }
+
+    @Test
+    public void testParse7() throws ParseException, IOException {
+        // the chunks are split before they exceed the maximum size
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(300) + "</root>";
+        ParseOptions options = new ParseOptions().parallelism(4);
+        Document document = new ParallelParser(options, 1 << 20, 400).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test
+    public void testParse8() throws ParseException, IOException {
+        // a child larger than the maximum chunk size is parsed sequentially
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "<large>" + createRecords(20)
+                + "</large>" + createRecords(20) + "</root>";
+        ParseOptions options = new ParseOptions().parallelism(4);
+        Document document = new ParallelParser(options, 64, 1000).parse(toBuffer(xml));
+        Assert.assertEquals(toString(document), toString(new Parser().parse(Parser.newReader(xml), options)));
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 2 at.*instead of end of stream")
+    public void testParse9() throws ParseException {
+        // only whitespace is allowed after the root element, as in the sequential parser
+        String xml = "<?xml version=\"1.0\" ?>\n<root>" + createRecords(20) + "</root>\u0001";
+        new ParallelParser(new ParseOptions().parallelism(4), 64).parse(toBuffer(xml));
+    }
+
+    private static String createRecords(int count) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            result.append("<record id=\"r").append(i).append("\" active><name>Grüße ").append(i)
+                    .append(" &amp; 日本語</name><empty /><nested><deeper>").append(i * 7)
+                    .append("</deeper>tail</nested></record>");
+            if (i % 3 == 0) {
+                result.append("between ").append(i);
+            }
+        }
+        return result.toString();
+    }
+
+    private static ByteBuffer toBuffer(String xml) {
+        return ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(Document document) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        document.toXml(stringWriter);
+        return stringWriter.toString();
+    }
+
+}
@@ -2,13 +2,21 @@ package internal;
 
 import main.Document;
 import main.Element;
+import main.Handler;
 import main.ParseException;
+import main.ParseOptions;
+import main.XmlEventReader;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Objects;
 
 public class ParserTest {
@@ -189,6 +197,187 @@ public class ParserTest {
         parser.parse(xml);
     }
 
+    @Test
+    public void testParseLarge() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        StringBuilder content = new StringBuilder("<?xml version=\"1.0\" ?>\n<root>\n");
+        for (int i = 0; i < 5000; i++) {
+            content.append("  <child").append(i).append(" key=\"value\">text").append(i).append("</child").append(i)
+                    .append(">\n");
+        }
+        content.append("</root>\n");
+        Files.writeString(xml, content);
+        try {
+            Document document = new Parser().parse(xml);
+            Assert.assertEquals(document.getRoot().getChildElements().size(), 5000);
+            Element child = document.getRoot().getChildElements().get(4999);
+            Assert.assertEquals(child.getName(), "child4999");
+            Assert.assertEquals(child.getAttributes().get("key"), "value");
+            Assert.assertEquals(child.getChildTexts().get(0), "text4999");
+            Assert.assertSame(child.getAttributes().keySet().iterator().next(),
+                    document.getRoot().getChildElements().get(0).getAttributes().keySet().iterator().next());
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 5003 at column 12:.*")
+    public void testParseLarge1() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        StringBuilder content = new StringBuilder("<?xml version=\"1.0\" ?>\n<root>\n");
+        for (int i = 0; i < 5000; i++) {
+            content.append("  <child key=\"value\">text</child>\n");
+        }
+        content.append("  <child></chi>\n</root>\n");
+        Files.writeString(xml, content);
+        try {
+            new Parser().parse(xml);
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test
+    public void testParseLarge2() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        String name = "n".repeat(20000);
+        String text = "t ".repeat(40000).trim();
+        Files.writeString(xml, "<?xml version=\"1.0\" ?>\n<" + name + ">\n  " + text + "\n</" + name + ">\n");
+        try {
+            Document document = new Parser().parse(xml);
+            Assert.assertEquals(document.getRoot().getName(), name);
+            Assert.assertEquals(document.getRoot().getChildTexts().get(0), text);
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 2 at column 8:.*")
+    public void testParseUnterminatedText() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        Files.writeString(xml, "<?xml version=\"1.0\" ?>\n<a>text");
+        try {
+            new Parser().parse(xml);
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 2 at .*'end of stream' instead of '<'")
+    public void testParseUnterminatedText1() throws ParseException {
+        new Parser().parse(Parser.newReader("<?xml version=\"1.0\" ?>\n<a>"), new ParseOptions());
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 3 at .*'end of stream' instead of '<'")
+    public void testParseUnterminatedText2() throws ParseException {
+        new Parser().parse(Parser.newReader("<?xml version=\"1.0\" ?>\n<a>\n"), new ParseOptions());
+    }
+
+    @Test
+    public void testParseMapped() throws URISyntaxException, ParseException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        Parser parser = new Parser();
+        Document document = parser.parse(xml, new ParseOptions().memoryMapped(true));
+        Assert.assertEquals(document.getRoot().getName(), "root");
+        Assert.assertEquals(document.getRoot().getAttributes().size(), 3);
+        Assert.assertEquals(document.getRoot().getChildElements().size(), 3);
+        Assert.assertEquals(document.getRoot().getChildElements().get(2).getChildElements().get(1).getChildTexts(),
+                List.of("TEXT2"));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 6 at column 26:.*")
+    public void testParseMapped1() throws URISyntaxException, ParseException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml7.xml")).toURI());
+        Parser parser = new Parser();
+        parser.parse(xml, new ParseOptions().memoryMapped(true));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 3 at column 12:.*")
+    public void testParseMapped2() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        Files.writeString(xml, "<?xml version=\"1.0\" ?>\n<äöü grüße=\"straße\">\n  日本語テキスト</äöu>\n");
+        try {
+            new Parser().parse(xml, new ParseOptions().memoryMapped(true));
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test
+    public void testNext() throws ParseException {
+        Parser parser = new Parser();
+        parser.open(new StringReader("<?xml version=\"1.0\" ?><a key=\"value\"> text <b /></a>"));
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.START_DOCUMENT);
+        Assert.assertEquals(parser.getType(), internal.Document.Type.XML);
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.START_ELEMENT);
+        Assert.assertEquals(parser.getName(), "a");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.ATTRIBUTE);
+        Assert.assertEquals(parser.getName(), "key");
+        Assert.assertEquals(parser.getValue(), "value");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.TEXT);
+        Assert.assertEquals(parser.getText(), "text");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.START_ELEMENT);
+        Assert.assertEquals(parser.getName(), "b");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.END_ELEMENT);
+        Assert.assertEquals(parser.getName(), "b");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.END_ELEMENT);
+        Assert.assertEquals(parser.getName(), "a");
+        Assert.assertEquals(parser.next(), XmlEventReader.Event.END_DOCUMENT);
+    }
+
+    @Test
+    public void testParseAllocation() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        StringBuilder content = new StringBuilder("<?xml version=\"1.0\" ?>\n<root>\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("  <child key=\"value\">").append("text ".repeat(200)).append("</child>\n");
+        }
+        content.append("</root>\n");
+        Files.writeString(xml, content);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try {
+            new Parser().parse(xml);
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            new Parser().parse(xml);
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            // the text content itself and the element tree need about two bytes per input character
+            Assert.assertTrue(allocated < 4L * content.length(),
+                    String.format("%d bytes allocated for %d characters", allocated, content.length()));
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
+    @Test
+    public void testParseHandlerAllocation() throws IOException, ParseException {
+        Path xml = Files.createTempFile("xml", null);
+        StringBuilder content = new StringBuilder("<?xml version=\"1.0\" ?>\n<root>\n");
+        for (int i = 0; i < 20000; i++) {
+            content.append("  <child key>").append("text ".repeat(10)).append("<empty /></child>\n");
+        }
+        content.append("</root>\n");
+        Files.writeString(xml, content);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Handler handler = new Handler() {
+        };
+        try {
+            new Parser().parse(xml, handler, new ParseOptions());
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            new Parser().parse(xml, handler, new ParseOptions());
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            // only the buffers of the parser and the reader are allocated, independent of the document size
+            Assert.assertTrue(allocated < content.length() / 10,
+                    String.format("%d bytes allocated for %d characters", allocated, content.length()));
+        } finally {
+            Files.delete(xml);
+        }
+    }
+
     @Test
     public void testIsStartCharacter() {
         Assert.assertTrue(Parser.isStartCharacter(':'));
@@ -219,4 +408,31 @@ public class ParserTest {
         Assert.assertTrue(Parser.isCharacter('‿'));
     }
 
+    @Test
+    public void testIsStartCharacter1() {
+        for (int c = -1; c <= Character.MAX_CODE_POINT + 1; c++) {
+            Assert.assertEquals(Parser.isStartCharacter(c), isStartCharacterReference(c), Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    public void testIsCharacter1() {
+        for (int c = -1; c <= Character.MAX_CODE_POINT + 1; c++) {
+            Assert.assertEquals(Parser.isCharacter(c), isCharacterReference(c), Integer.toHexString(c));
+        }
+    }
+
+    private static boolean isStartCharacterReference(int c) {
+        return c == ':' || 0x41 <= c && c <= 0x5a || c == '_' || 0x61 <= c && c <= 0x7a || 0xC0 <= c && c <= 0xD6 ||
+                0xD8 <= c && c <= 0xF6 || 0xF8 <= c && c <= 0x2FF || 0x370 <= c && c <= 0x37D ||
+                0x37F <= c && c <= 0x1FFF || 0x200C <= c && c <= 0x200D || 0x2070 <= c && c <= 0x218F ||
+                0x2C00 <= c && c <= 0x2FEF || 0x3001 <= c && c <= 0xD7FF || 0xF900 <= c && c <= 0xFDCF ||
+                0xFDF0 <= c && c <= 0xFFFD || 0x010000 <= c && c <= 0x0EFFFF;
+    }
+
+    private static boolean isCharacterReference(int c) {
+        return c == '-' || c == '.' || 0x30 <= c && c <= 0x39 || c == 0xb7 || 0x0300 <= c && c <= 0x036f ||
+                0x203f <= c && c <= 0x2040 || isStartCharacterReference(c);
+    }
+
 }
@@ -0,0 +1,90 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class StreamReaderTest {
+
+    private static String readAll(Reader reader, int blockSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] block = new char[blockSize];
+        int count;
+        while ((count = reader.read(block, 0, block.length)) >= 0) {
+            result.append(block, 0, count);
+        }
+        return result.toString();
+    }
+
+    // returns at most the given number of bytes per read to split UTF-8 sequences
+    private static InputStream createStream(byte[] bytes, int chunkSize) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, chunkSize));
+            }
+        };
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        String text = "<äöü>grüße 日本語 😀 text</äöü>";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+            Assert.assertEquals(readAll(new StreamReader(createStream(bytes, chunkSize)), 3), text);
+        }
+    }
+
+    @Test
+    public void testRead1() throws IOException {
+        String text = "grüße ".repeat(5000);
+        Assert.assertEquals(readAll(new StreamReader(createStream(text.getBytes(StandardCharsets.UTF_8), 10000)),
+                1000), text);
+    }
+
+    @Test
+    public void testRead2() throws IOException {
+        byte[] bytes = "text ü".getBytes(StandardCharsets.UTF_8);
+        StreamReader reader = new StreamReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+        Assert.assertThrows(MalformedInputException.class, () -> readAll(reader, 8));
+    }
+
+    @Test
+    public void testRead3() throws IOException {
+        byte[] bytes = new byte[20000];
+        Arrays.fill(bytes, (byte) 0x80);
+        StreamReader reader = new StreamReader(new ByteArrayInputStream(bytes));
+        Assert.assertThrows(MalformedInputException.class, () -> readAll(reader, 8));
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        StreamReader reader = new StreamReader();
+        reader.open(new ByteArrayInputStream("first ä".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(reader.read(new char[3], 0, 3), 3);
+        reader.open(new ByteArrayInputStream("second ö".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(readAll(reader, 4), "second ö");
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        boolean[] closed = new boolean[1];
+        StreamReader reader = new StreamReader(new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        });
+        Assert.assertEquals(reader.read(new char[4], 0, 4), -1);
+        reader.close();
+        Assert.assertTrue(closed[0]);
+    }
+
+}
@@ -0,0 +1,54 @@
+package internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SymbolTableTest {
+
+    @Test
+    public void testAdd() {
+        SymbolTable symbolTable = new SymbolTable();
+        String symbol = symbolTable.add("<name>".toCharArray(), 1, 4);
+        Assert.assertEquals(symbol, "name");
+        Assert.assertSame(symbolTable.add("name=".toCharArray(), 0, 4), symbol);
+        Assert.assertEquals(symbolTable.size(), 1);
+    }
+
+    @Test
+    public void testAdd1() {
+        SymbolTable symbolTable = new SymbolTable();
+        char[] buffer = "namename2".toCharArray();
+        String symbol1 = symbolTable.add(buffer, 0, 4);
+        String symbol2 = symbolTable.add(buffer, 4, 5);
+        Assert.assertEquals(symbol1, "name");
+        Assert.assertEquals(symbol2, "name2");
+        Assert.assertEquals(symbolTable.size(), 2);
+    }
+
+    @Test
+    public void testAdd2() {
+        SymbolTable symbolTable = new SymbolTable();
+        String[] symbols = new String[1000];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = symbolTable.add(("name" + i).toCharArray(), 0, ("name" + i).length());
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            Assert.assertSame(symbolTable.add(("name" + i).toCharArray(), 0, ("name" + i).length()), symbols[i]);
+        }
+        Assert.assertEquals(symbolTable.size(), 1000);
+    }
+
+    @Test
+    public void testAdd3() {
+        SymbolTable symbolTable = new SymbolTable();
+        for (int i = 0; i < 5000; i++) {
+            symbolTable.add(("name" + i).toCharArray(), 0, ("name" + i).length());
+        }
+        Assert.assertEquals(symbolTable.size(), 4096);
+        String symbol = symbolTable.add("name4999".toCharArray(), 0, 8);
+        Assert.assertEquals(symbol, "name4999");
+        Assert.assertNotSame(symbolTable.add("name4999".toCharArray(), 0, 8), symbol);
+        Assert.assertSame(symbolTable.add("name0".toCharArray(), 0, 5), symbolTable.add("name0".toCharArray(), 0, 5));
+    }
+
+}
@@ -37,4 +37,25 @@ public class TextTest {
         Text text = new Text("text");
         Assert.assertEquals(text.getText(), "text");
     }
+
+    @Test
+    public void testAppend() {
+        Text text = new Text("text1");
+        text.append("text2");
+        Assert.assertEquals(text.getText(), "text1text2");
+        text.append("text3");
+        Assert.assertEquals(text.getText(), "text1text2text3");
+    }
+
+    @Test
+    public void testAppend1() throws IOException {
+        Text text = new Text("<");
+        text.append(">");
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(); PrintWriter printWriter =
+                new PrintWriter(byteArrayOutputStream)) {
+            text.toXml(printWriter, 0);
+            printWriter.flush();
+            Assert.assertEquals(byteArrayOutputStream.toString(), "&lt;&gt;");
+        }
+    }
 }
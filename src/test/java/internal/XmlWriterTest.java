@@ -0,0 +1,96 @@
+package internal;
+
+import main.Element;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class XmlWriterTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(new Element("name").addAttribute("key", "a\"b").addChild("<&>"), 0);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(), "<name key=\"a&quot;b\">&lt;&amp;&gt;</name>\n");
+    }
+
+    @Test
+    public void testWrite1() throws IOException {
+        Element element = new Element("name");
+        element.addChild("text").addChild(new Element("child").addChild(new Element("child2")), true);
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(element, 1);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(), "  <name>text<child>\n      <child2 />\n    </child>\n</name>\n");
+    }
+
+    @Test
+    public void testWrite2() throws IOException {
+        String text = "a&b".repeat(10000);
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(text);
+        xmlWriter.write(new Text(text), 0);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(), text + "a&amp;b".repeat(10000));
+    }
+
+    @Test
+    public void testWrite3() throws IOException {
+        Element element = new Element("name");
+        Element current = element;
+        for (int i = 0; i < 200; i++) {
+            Element child = new Element("name");
+            current.addChild(child);
+            current = child;
+        }
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(element, 0);
+        xmlWriter.flush();
+        Assert.assertTrue(stringWriter.toString().contains("\n" + " ".repeat(400) + "<name />\n"));
+    }
+
+    @Test
+    public void testWrite4() throws IOException {
+        Element element = new Element("a");
+        Element current = element;
+        for (int i = 1; i < 1000000; i++) {
+            Element child = new Element("a");
+            current.addChild(child, true);
+            current = child;
+        }
+        current.addChild("text");
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(element, 0);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(), "<a>".repeat(1000000) + "text" + "</a>\n".repeat(1000000));
+    }
+
+    @Test
+    public void testWrite5() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.write(new Text("TEXT\"TEXT&TEXT<TEXT>TEXT\"TEXT&TEXT<TEXT>Ü"), 0);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(),
+                "TEXT&quot;TEXT&amp;TEXT&lt;TEXT&gt;TEXT&quot;TEXT&amp;TEXT&lt;TEXT&gt;Ü");
+    }
+
+    @Test
+    public void testSetCompact() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        XmlWriter xmlWriter = new XmlWriter(stringWriter);
+        xmlWriter.setCompact(true);
+        xmlWriter.write(new Element("name").addChild(new Element("child", "text")).addChild("text"), 3);
+        xmlWriter.flush();
+        Assert.assertEquals(stringWriter.toString(), "<name><child>text</child>text</name>");
+    }
+
+}
@@ -6,6 +6,12 @@ import org.testng.annotations.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ElementTest {
 
@@ -241,4 +247,163 @@ public class ElementTest {
             Assert.assertEquals(byteArrayOutputStream.toString(), "<name>text1<name2 />text2</name>\n");
         }
     }
+
+    @Test
+    public void testGetChildElements2() {
+        Element element = new Element("name").addChild("text1").addChild(new Element("name2")).addChild("text2")
+                .addChild(new Element("name3"));
+        List<Element> childElements = element.getChildElements();
+        Assert.assertEquals(childElements.size(), 2);
+        Assert.assertEquals(childElements.get(0).getName(), "name2");
+        Assert.assertEquals(childElements.get(1).getName(), "name3");
+        element.addChild(new Element("name4"));
+        Assert.assertEquals(childElements.size(), 3);
+        Assert.assertEquals(childElements.get(2).getName(), "name4");
+        Assert.assertEquals(element.getChildTexts(), List.of("text1", "text2"));
+    }
+
+    @Test
+    public void testGetChildElements3() {
+        Element element = new Element("name");
+        for (int i = 0; i < 100; i++) {
+            element.addChild(new Element("name" + i));
+        }
+        Assert.assertEquals(element.getChildElements().size(), 100);
+        Assert.assertEquals(element.getChildElements().get(99).getName(), "name99");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testGetChildElements4() {
+        new Element("name").getChildElements().add(new Element("name2"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetChildElements5() {
+        new Element("name").addChild("text").getChildElements().get(0);
+    }
+
+    @Test
+    public void testGetAttributes3() {
+        Element element = new Element("name").addAttribute("key2").addAttribute("key3").addAttribute("key1");
+        Assert.assertEquals(new ArrayList<>(element.getAttributes().keySet()), List.of("key1", "key2", "key3"));
+        Assert.assertTrue(new Element("name").getAttributes().isEmpty());
+    }
+
+    @Test
+    public void testSetAttributeOrder() {
+        Element element = new Element("name").setAttributeOrder(AttributeOrder.INSERTION)
+                .addAttribute("key2").addAttribute("key3").addAttribute("key1").addAttribute("key2", "value");
+        Assert.assertEquals(element.getAttributeOrder(), AttributeOrder.INSERTION);
+        Assert.assertEquals(new ArrayList<>(element.getAttributes().keySet()), List.of("key2", "key3", "key1"));
+        Assert.assertEquals(element.getAttributes().get("key2"), "value");
+        element.setAttributeOrder(AttributeOrder.ALPHABETICAL);
+        Assert.assertEquals(new ArrayList<>(element.getAttributes().keySet()), List.of("key1", "key2", "key3"));
+    }
+
+    @Test
+    public void testToXml8() throws IOException {
+        Element element = new Element("name").setAttributeOrder(AttributeOrder.INSERTION).addAttribute("att2")
+                .addAttribute("att1", "val1");
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             PrintWriter printWriter = new PrintWriter(byteArrayOutputStream)) {
+            element.toXml(printWriter, 0);
+            printWriter.flush();
+            Assert.assertEquals(byteArrayOutputStream.toString(), "<name att2 att1=\"val1\" />\n");
+        }
+    }
+
+    @Test
+    public void testAddChild5() {
+        Element element = new Element("name").addChild(new Element("name2"));
+        for (int i = 0; i < 100000; i++) {
+            element.addChild("text");
+        }
+        Assert.assertEquals(element.getChildTexts().size(), 1);
+        Assert.assertEquals(element.getChildTexts().get(0), "text".repeat(100000));
+        element.addChild("text");
+        Assert.assertEquals(element.getChildTexts().get(0).length(), 4 * 100001);
+    }
+
+    @Test
+    public void testGetChildElements6() {
+        Element b1 = new Element("b");
+        Element b2 = new Element("b");
+        Element element = new Element("name").addChild(b1).addChild("text").addChild(new Element("c")).addChild(b2);
+        Assert.assertEquals(element.getChildElements("b"), List.of(b1, b2));
+        Assert.assertTrue(element.getChildElements("d").isEmpty());
+        Element b3 = new Element("b");
+        element.addChild(b3);
+        Assert.assertEquals(element.getChildElements("b"), List.of(b1, b2, b3));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testGetChildElements7() {
+        new Element("name").addChild(new Element("b")).getChildElements("b").clear();
+    }
+
+    @Test
+    public void testGetFirstChild() {
+        Element b1 = new Element("b");
+        Element element = new Element("name").addChild(new Element("a")).addChild(b1).addChild(new Element("b"));
+        Assert.assertSame(element.getFirstChild("b"), b1);
+        Assert.assertNull(element.getFirstChild("c"));
+    }
+
+    @Test
+    public void testGetDescendants() {
+        Element b1 = new Element("b");
+        Element b2 = new Element("b");
+        Element b3 = new Element("b");
+        Element a = new Element("a").addChild(b2).addChild(new Element("c").addChild(b3));
+        Element element = new Element("b").addChild(b1).addChild(a);
+        Assert.assertEquals(element.getDescendants("b"), List.of(b1, b2, b3));
+        Assert.assertEquals(a.getDescendants("b"), List.of(b2, b3));
+        Assert.assertTrue(element.getDescendants("d").isEmpty());
+        // adding an element deep in the subtree invalidates the indexes of all ancestors
+        Element b4 = new Element("b");
+        b3.addChild(b4);
+        Assert.assertEquals(element.getDescendants("b"), List.of(b1, b2, b3, b4));
+        Assert.assertEquals(a.getDescendants("b"), List.of(b2, b3, b4));
+    }
+
+    @Test
+    public void testGetDescendants1() {
+        Element root = new Element("root");
+        Element current = root;
+        for (int i = 0; i < 100000; i++) {
+            Element child = new Element("level");
+            current.addChild(child);
+            current = child;
+        }
+        Assert.assertEquals(root.getDescendants("level").size(), 100000);
+        Assert.assertSame(root.getDescendants("level").get(99999), current);
+    }
+
+    @Test
+    public void testGetChildElements8() throws Exception {
+        // concurrent readers of an element with mixed children never see an incomplete list of child elements
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                Element element = new Element("name");
+                for (int i = 0; i < 100; i++) {
+                    element.addChild("text").addChild(new Element("child"));
+                }
+                Callable<Boolean> task = () -> {
+                    for (Element child : element.getChildElements()) {
+                        if (child == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+                for (Future<Boolean> result : executor.invokeAll(List.of(task, task, task, task))) {
+                    Assert.assertTrue(result.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
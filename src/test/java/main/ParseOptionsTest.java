@@ -0,0 +1,45 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ParseOptionsTest {
+
+    @Test
+    public void testMemoryMapped() {
+        ParseOptions options = new ParseOptions();
+        Assert.assertFalse(options.isMemoryMapped());
+        Assert.assertSame(options.memoryMapped(true), options);
+        Assert.assertTrue(options.isMemoryMapped());
+    }
+
+    @Test
+    public void testAttributeOrder() {
+        ParseOptions options = new ParseOptions();
+        Assert.assertEquals(options.getAttributeOrder(), AttributeOrder.ALPHABETICAL);
+        Assert.assertSame(options.attributeOrder(AttributeOrder.INSERTION), options);
+        Assert.assertEquals(options.getAttributeOrder(), AttributeOrder.INSERTION);
+    }
+
+    @Test
+    public void testLazy() {
+        ParseOptions options = new ParseOptions();
+        Assert.assertFalse(options.isLazy());
+        Assert.assertSame(options.lazy(true), options);
+        Assert.assertTrue(options.isLazy());
+    }
+
+    @Test
+    public void testParallelism() {
+        ParseOptions options = new ParseOptions();
+        Assert.assertEquals(options.getParallelism(), 1);
+        Assert.assertSame(options.parallelism(4), options);
+        Assert.assertEquals(options.getParallelism(), 4);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testParallelism1() {
+        new ParseOptions().parallelism(0);
+    }
+
+}
@@ -0,0 +1,78 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+public class ParserContextTest {
+
+    @Test
+    public void testParse() throws URISyntaxException, IOException {
+        // valid and invalid documents give the same results as with a new parser state
+        ParserContext context = new ParserContext();
+        for (String name : new String[]{"/xml1.xml", "/reference1.xml", "/xml7.xml", "/reference2.xml", "/xml1.xml"}) {
+            Path file = Paths.get(Objects.requireNonNull(getClass().getResource(name)).toURI());
+            String expected = parse(() -> SimpleXmlParser.parse(file));
+            Assert.assertEquals(parse(() -> context.parse(file)), expected);
+            Assert.assertEquals(parse(() -> context.parse(file, new ParseOptions().memoryMapped(true))), expected);
+        }
+    }
+
+    @Test
+    public void testParse1() throws ParseException {
+        ParserContext context = new ParserContext();
+        String xml = "<?xml version=\"1.0\" ?>\n<root><child>grüße</child></root>";
+        Assert.assertEquals(toString(context.parse(xml)), toString(SimpleXmlParser.parse(xml)));
+        Assert.assertEquals(toString(context.parse(xml.getBytes(StandardCharsets.UTF_8))),
+                toString(SimpleXmlParser.parse(xml)));
+        Assert.assertEquals(toString(context.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))),
+                toString(SimpleXmlParser.parse(xml)));
+    }
+
+    @Test
+    public void testParse2() throws ParseException {
+        // a failed parse does not affect the following documents
+        ParserContext context = new ParserContext();
+        Assert.assertThrows(ParseException.class,
+                () -> context.parse("<?xml version=\"1.0\" ?>\n<root><a><b></a></root>"));
+        Document document = context.parse("<?xml version=\"1.0\" ?>\n<root><a>text</a></root>");
+        Assert.assertEquals(document.getRoot().getChildElements().get(0).getChildTexts().get(0), "text");
+    }
+
+    @Test
+    public void testParse3() throws ParseException {
+        // more distinct names than the context keeps are still checked correctly
+        ParserContext context = new ParserContext();
+        for (int i = 0; i < 5000; i++) {
+            String xml = "<?xml version=\"1.0\" ?>\n<root" + i + "><child" + i + " /></root" + i + ">";
+            Assert.assertEquals(context.parse(xml).getRoot().getName(), "root" + i);
+        }
+        Assert.assertThrows(ParseException.class,
+                () -> context.parse("<?xml version=\"1.0\" ?>\n<root6000></root6001>"));
+    }
+
+    private interface Parse {
+
+        Document parse() throws ParseException;
+    }
+
+    private static String parse(Parse parse) {
+        try {
+            return toString(parse.parse());
+        } catch (ParseException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String toString(Document document) {
+        return new String(document.toBytes(), StandardCharsets.UTF_8);
+    }
+
+}
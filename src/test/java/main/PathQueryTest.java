@@ -0,0 +1,149 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathQueryTest {
+
+    private static final String XML = "<?xml version=\"1.0\" ?>\n<root>"
+            + "<item id=\"i1\" type=\"book\"><price>10</price><name>first</name></item>"
+            + "<item type=\"pen\"><price>2</price></item>"
+            + "<group><item id=\"i3\" type=\"book\"><price>30</price>"
+            + "<item id=\"i4\"><price>40</price></item></item></group>"
+            + "</root>";
+
+    @Test
+    public void testEvaluate() throws ParseException, IOException {
+        Assert.assertEquals(evaluate("/root/item[@id]/price/text()"), List.of("10"));
+        Assert.assertEquals(evaluate("/root/item/price/text()"), List.of("10", "2"));
+        Assert.assertEquals(evaluate("//item/@id"), List.of("i1", "i3", "i4"));
+        Assert.assertEquals(evaluate("//item[@type='book']/@id"), List.of("i1", "i3"));
+        Assert.assertEquals(evaluate("//item[@type=\"pen\"]/price/text()"), List.of("2"));
+        Assert.assertEquals(evaluate("/root/*/item/@id"), List.of("i3"));
+        Assert.assertEquals(evaluate("//price/text()"), List.of("10", "2", "30", "40"));
+        Assert.assertEquals(evaluate("/root//item//price/text()"), List.of("10", "2", "30", "40"));
+        Assert.assertEquals(evaluate("/other//price/text()"), List.of());
+    }
+
+    @Test
+    public void testEvaluate1() throws ParseException, IOException {
+        // the texts of nested selected elements are returned in document order
+        String xml = "<?xml version=\"1.0\" ?>\n<a>x<a>y</a>z</a>";
+        Assert.assertEquals(evaluate("//a/text()", xml), List.of("x", "y", "z"));
+        // the children of nested selected elements are returned in document order
+        xml = "<?xml version=\"1.0\" ?>\n<r><a><a><b id=\"x1\" /></a><b id=\"x2\" /></a></r>";
+        Assert.assertEquals(evaluate("//a/b/@id", xml), List.of("x1", "x2"));
+        Assert.assertEquals(evaluate("//a//b/@id", xml), List.of("x1", "x2"));
+        Assert.assertEquals(evaluate("/r//b/@id", xml), List.of("x1", "x2"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testEvaluate2() throws ParseException {
+        PathQuery.compile("//item").evaluate(SimpleXmlParser.parse(XML));
+    }
+
+    @Test
+    public void testSelect() throws ParseException, IOException {
+        Document document = SimpleXmlParser.parse(XML);
+        List<Element> items = PathQuery.compile("//item").select(document);
+        Assert.assertEquals(items.size(), 4);
+        Assert.assertSame(items.get(0), document.getRoot().getChildElements().get(0));
+        Assert.assertEquals(names(PathQuery.compile("/root/*").select(document)), List.of("item", "item", "group"));
+        Assert.assertEquals(PathQuery.compile("//group//item").select(document).size(), 2);
+        Assert.assertEquals(PathQuery.compile("/root").select(document), List.of(document.getRoot()));
+        Assert.assertTrue(PathQuery.compile("/item").select(document).isEmpty());
+    }
+
+    @Test
+    public void testSelect1() throws ParseException, IOException {
+        Path file = createFile(XML);
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(file)) {
+            List<Element> items = PathQuery.compile("//item[@type='book']").select(reader);
+            Assert.assertEquals(items.size(), 2);
+            Assert.assertEquals(items.get(0).getAttributes().get("id"), "i1");
+            Assert.assertEquals(names(items.get(0).getChildElements()), List.of("price", "name"));
+            Assert.assertEquals(items.get(1).getChildElements().get(1).getAttributes().get("id"), "i4");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testSelect2() throws ParseException {
+        PathQuery.compile("//item/@id").select(SimpleXmlParser.parse(XML));
+    }
+
+    @Test
+    public void testSelect3() throws ParseException, IOException {
+        // the elements selected below nested elements are returned in document order in both modes
+        String xml = "<?xml version=\"1.0\" ?>\n<r><a><a><b id=\"x1\" /></a><b id=\"x2\" /></a><b id=\"x3\" /></r>";
+        Document document = SimpleXmlParser.parse(xml);
+        List<Element> elements = PathQuery.compile("//a/b").select(document);
+        Assert.assertEquals(ids(elements), List.of("x1", "x2"));
+        Assert.assertSame(elements.get(0), document.getRoot().getChildElements().get(0).getChildElements().get(0)
+                .getChildElements().get(0));
+        Assert.assertEquals(ids(PathQuery.compile("//*/b").select(document)), List.of("x1", "x2", "x3"));
+        Path file = createFile(xml);
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(file)) {
+            Assert.assertEquals(ids(PathQuery.compile("//a/b").select(reader)), List.of("x1", "x2"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCompile() {
+        Assert.assertEquals(PathQuery.compile("//a[@b='c']/text()").toString(), "//a[@b='c']/text()");
+        for (String expression : List.of("", "/", "a", "/a/", "//", "/a[b]", "/a[@b", "/a[@b=c]", "/a[@b='c]",
+                "/a/@", "//@b", "/a/text()/b", "/a b")) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> PathQuery.compile(expression));
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> PathQuery.compile("/a".repeat(64)));
+    }
+
+    private static List<String> evaluate(String expression) throws ParseException, IOException {
+        return evaluate(expression, XML);
+    }
+
+    // evaluates the query against the element tree and while parsing, both have to return the same values
+    private static List<String> evaluate(String expression, String xml) throws ParseException, IOException {
+        PathQuery query = PathQuery.compile(expression);
+        List<String> result = query.evaluate(SimpleXmlParser.parse(xml));
+        Path file = createFile(xml);
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(file)) {
+            Assert.assertEquals(query.evaluate(reader), result);
+        } finally {
+            Files.delete(file);
+        }
+        return result;
+    }
+
+    private static Path createFile(String xml) throws IOException {
+        Path file = Files.createTempFile("xml", null);
+        Files.writeString(file, xml);
+        return file;
+    }
+
+    private static List<String> ids(List<Element> elements) {
+        List<String> result = new ArrayList<>();
+        for (Element element : elements) {
+            result.add(element.getAttributes().get("id"));
+        }
+        return result;
+    }
+
+    private static List<String> names(List<Element> elements) {
+        List<String> result = new ArrayList<>();
+        for (Element element : elements) {
+            result.add(element.getName());
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,94 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ProjectionTest {
+
+    private static final String XML = "<?xml version=\"1.0\" ?>\n<root key=\"value\">text"
+            + "<item id=\"i1\" type=\"book\"><price>10</price><name>first</name></item>"
+            + "<item type=\"pen\"><price>2</price></item>"
+            + "<group id=\"g1\"><item id=\"i3\" type=\"book\"><price>30</price>"
+            + "<item id=\"i4\"><price>40</price></item></item></group>"
+            + "</root>";
+
+    @Test
+    public void testParse() throws ParseException, IOException {
+        Document document = parse(XML, new Projection().include("//item[@type='book']"));
+        Assert.assertEquals(toString(document), toString(SimpleXmlParser.parse(
+                "<?xml version=\"1.0\" ?>\n<root>"
+                        + "<item id=\"i1\" type=\"book\"><price>10</price><name>first</name></item>"
+                        + "<group><item id=\"i3\" type=\"book\"><price>30</price>"
+                        + "<item id=\"i4\"><price>40</price></item></item></group>"
+                        + "</root>")));
+    }
+
+    @Test
+    public void testParse1() throws ParseException, IOException {
+        Document document = parse(XML, new Projection().include("/root/item/name").include("/root/group"));
+        Assert.assertEquals(toString(document), toString(SimpleXmlParser.parse(
+                "<?xml version=\"1.0\" ?>\n<root><item><name>first</name></item>"
+                        + "<group id=\"g1\"><item id=\"i3\" type=\"book\"><price>30</price>"
+                        + "<item id=\"i4\"><price>40</price></item></item></group>"
+                        + "</root>")));
+    }
+
+    @Test
+    public void testParse2() throws ParseException, IOException {
+        Document document = parse(XML, new Projection().include("//missing"));
+        Assert.assertEquals(toString(document), "<?xml version=\"1.0\" ?>\n<root />\n");
+        Document root = parse(XML, new Projection().include("/root"));
+        Assert.assertEquals(toString(root), toString(SimpleXmlParser.parse(XML)));
+    }
+
+    @Test
+    public void testParse3() throws ParseException, IOException {
+        String html = "<!DOCTYPE html>\n<html><body><p a=\"v1\" b=\"v2\">text</p></body></html>";
+        Document document = parse(html, new Projection().include("//p"),
+                new ParseOptions().attributeOrder(AttributeOrder.INSERTION).memoryMapped(true));
+        Assert.assertEquals(toString(document), "<!DOCTYPE html>\n<html>\n  <body>\n    <p a=\"v1\" b=\"v2\">text</p>\n"
+                + "  </body>\n</html>\n");
+    }
+
+    @Test(expectedExceptions = ParseException.class,
+            expectedExceptionsMessageRegExp = "Error in line 2 at.*Unexpected element name .c. instead of .b.")
+    public void testParse4() throws ParseException, IOException {
+        parse("<?xml version=\"1.0\" ?>\n<root><a /><b></c></root>", new Projection().include("/root/a"));
+    }
+
+    @Test
+    public void testInclude() {
+        Projection projection = new Projection();
+        Assert.assertSame(projection.include("//a"), projection);
+        for (String path : List.of("//a/text()", "//a/@b", "a")) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> projection.include(path));
+        }
+    }
+
+    private static Document parse(String xml, Projection projection) throws ParseException, IOException {
+        return parse(xml, projection, null);
+    }
+
+    private static Document parse(String xml, Projection projection, ParseOptions options)
+            throws ParseException, IOException {
+        Path file = Files.createTempFile("xml", null);
+        Files.writeString(file, xml);
+        try {
+            return options == null ? SimpleXmlParser.parse(file, projection)
+                    : SimpleXmlParser.parse(file, projection, options);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String toString(Document document) {
+        return new String(document.toBytes(), StandardCharsets.UTF_8);
+    }
+
+}
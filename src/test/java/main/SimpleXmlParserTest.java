@@ -3,14 +3,26 @@ package main;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SimpleXmlParserTest {
 
@@ -49,4 +61,209 @@ public class SimpleXmlParserTest {
         }
     }
 
+    @Test
+    public void testParse1() throws URISyntaxException, ParseException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        List<String> events = new ArrayList<>();
+        SimpleXmlParser.parse(xml, new Handler() {
+            @Override
+            public void startDocument(boolean html) {
+                events.add("startDocument " + html);
+            }
+
+            @Override
+            public void startElement(String name, Attributes attributes) {
+                StringBuilder event = new StringBuilder("startElement ").append(name);
+                for (int i = 0; i < attributes.size(); i++) {
+                    event.append(' ').append(attributes.getKey(i)).append('=').append(attributes.getValue(i));
+                }
+                events.add(event.toString());
+            }
+
+            @Override
+            public void text(char[] characters, int offset, int length) {
+                events.add("text " + new String(characters, offset, length));
+            }
+
+            @Override
+            public void endElement(String name) {
+                events.add("endElement " + name);
+            }
+
+            @Override
+            public void endDocument() {
+                events.add("endDocument");
+            }
+        });
+        Assert.assertEquals(events, List.of("startDocument false",
+                "startElement root rootkey1=rootvalue1 rootkey2= rootkey3=rootvalue3", "startElement child1",
+                "endElement child1", "text TEXT1", "startElement child2 child2key1= child2key2=child2value2",
+                "endElement child2", "startElement child3", "startElement child4", "endElement child4",
+                "startElement child5", "text TEXT2", "endElement child5", "endElement child3", "endElement root",
+                "endDocument"));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 6 at column 26:.*")
+    public void testParse2() throws URISyntaxException, ParseException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml7.xml")).toURI());
+        SimpleXmlParser.parse(xml, new Handler() {
+        });
+    }
+
+    @Test
+    public void testParse3() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        String expected = toString(SimpleXmlParser.parse(xml).getRoot());
+        try (InputStream stream = Files.newInputStream(xml)) {
+            Assert.assertEquals(toString(SimpleXmlParser.parse(stream).getRoot()), expected);
+        }
+        try (FileChannel channel = FileChannel.open(xml)) {
+            Assert.assertEquals(toString(SimpleXmlParser.parse(channel).getRoot()), expected);
+        }
+        byte[] bytes = Files.readAllBytes(xml);
+        Assert.assertEquals(toString(SimpleXmlParser.parse(bytes).getRoot()), expected);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Assert.assertEquals(toString(SimpleXmlParser.parse(buffer).getRoot()), expected);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(toString(SimpleXmlParser.parse(Files.readString(xml)).getRoot()), expected);
+    }
+
+    @Test
+    public void testParse4() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<äöü grüße=\"straße\">日本語</äöü>\n";
+        Document document = SimpleXmlParser.parse(xml.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(document.getRoot().getName(), "äöü");
+        Assert.assertEquals(document.getRoot().getAttributes().get("grüße"), "straße");
+        Assert.assertEquals(document.getRoot().getChildTexts(), List.of("日本語"));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 2 at column 6:.*")
+    public void testParse5() throws ParseException {
+        SimpleXmlParser.parse(new StringBuilder("<?xml version=\"1.0\" ?>\n<a></b>"));
+    }
+
+    @Test
+    public void testParse6() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<a><b key>text</b></a>";
+        List<String> events = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void startElement(String name, Attributes attributes) {
+                events.add(name + attributes.size());
+            }
+
+            @Override
+            public void text(char[] characters, int offset, int length) {
+                events.add(new String(characters, offset, length));
+            }
+        };
+        SimpleXmlParser.parse(xml, handler);
+        SimpleXmlParser.parse(xml.getBytes(StandardCharsets.UTF_8), handler);
+        SimpleXmlParser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), handler);
+        SimpleXmlParser.parse(Channels.newChannel(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))),
+                handler);
+        Assert.assertEquals(events, List.of("a0", "b1", "text", "a0", "b1", "text", "a0", "b1", "text", "a0", "b1",
+                "text"));
+    }
+
+    @Test
+    public void testParse7() throws ParseException {
+        String xml = "<?xml version=\"1.0\" ?>\n<a c b=\"v1\" a=\"v2\">\n  <b z y />\n</a>\n";
+        Document document = SimpleXmlParser.parse(xml, new ParseOptions().attributeOrder(AttributeOrder.INSERTION));
+        Assert.assertEquals(toString(document.getRoot()), "<a c b=\"v1\" a=\"v2\">\n  <b z y />\n</a>\n");
+        document = SimpleXmlParser.parse(xml);
+        Assert.assertEquals(toString(document.getRoot()), "<a a=\"v2\" b=\"v1\" c>\n  <b y z />\n</a>\n");
+    }
+
+    @Test
+    public void testParse8() throws ParseException, IOException {
+        Element root = new Element("records");
+        for (int i = 0; i < 40000; i++) {
+            root.addChild(new Element("record", "Record number " + i).addAttribute("id", "r" + i));
+        }
+        Document document = SimpleXmlParser.createXml();
+        document.addRoot(root);
+        Path file = Files.createTempFile("xml", null);
+        document.toXml(file);
+        ParseOptions options = new ParseOptions().parallelism(4);
+        Assert.assertTrue(Files.size(file) > 1 << 20);
+        String expected = toString(SimpleXmlParser.parse(file).getRoot());
+        Assert.assertEquals(toString(SimpleXmlParser.parse(file, options).getRoot()), expected);
+        Assert.assertEquals(toString(SimpleXmlParser.parse(Files.readAllBytes(file), options).getRoot()), expected);
+        Files.delete(file);
+    }
+
+    @Test
+    public void testParse9() throws ParseException, IOException {
+        String xml = "<?xml version=\"1.0\" ?>\n<root key=\"value\"><a><b>text</b></a>tail</root>";
+        Path file = Files.createTempFile("xml", null);
+        Files.writeString(file, xml);
+        ParseOptions options = new ParseOptions().lazy(true);
+        String expected = toString(SimpleXmlParser.parse(xml).getRoot());
+        Assert.assertEquals(toString(SimpleXmlParser.parse(file, options).getRoot()), expected);
+        Assert.assertEquals(toString(SimpleXmlParser.parse(xml.getBytes(StandardCharsets.UTF_8), options).getRoot()),
+                expected);
+        Files.delete(file);
+    }
+
+    @Test
+    public void testCreateEventReader() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            Assert.assertEquals(reader.next(), XmlEventReader.Event.START_DOCUMENT);
+            Assert.assertEquals(reader.next(), XmlEventReader.Event.START_ELEMENT);
+            Assert.assertEquals(reader.getName(), "root");
+        }
+    }
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        int threads = 8;
+        List<Path> files = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Element root = new Element("root" + i).addAttribute("key" + i, "value" + i);
+            for (int j = 0; j < 200; j++) {
+                root.addChild(new Element("child" + i + "x" + j, "text" + i + "x" + j).addAttribute("index" + j));
+            }
+            Document document = SimpleXmlParser.createXml();
+            document.addRoot(root);
+            Path file = Files.createTempFile("xml", null);
+            document.toXml(file);
+            files.add(file);
+            expected.add(toString(root));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        Document document = SimpleXmlParser.parse(files.get(index));
+                        Assert.assertEquals(toString(document.getRoot()), expected.get(index));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static String toString(Element element) {
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+        element.toXml(printWriter, 0);
+        printWriter.flush();
+        return stringWriter.toString();
+    }
+
 }
@@ -0,0 +1,126 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class XmlEventReaderTest {
+
+    @Test
+    public void testNext() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        List<String> events = new ArrayList<>();
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            while (reader.hasNext()) {
+                XmlEventReader.Event event = reader.next();
+                events.add(switch (event) {
+                    case START_DOCUMENT, END_DOCUMENT -> event.name();
+                    case START_ELEMENT, END_ELEMENT -> event.name() + " " + reader.getName();
+                    case ATTRIBUTE -> event.name() + " " + reader.getName() + "=" + reader.getValue();
+                    case TEXT -> event.name() + " " + reader.getValue();
+                });
+            }
+        }
+        Assert.assertEquals(events,
+                List.of("START_DOCUMENT", "START_ELEMENT root", "ATTRIBUTE rootkey1=rootvalue1", "ATTRIBUTE rootkey2=",
+                        "ATTRIBUTE rootkey3=rootvalue3", "START_ELEMENT child1", "END_ELEMENT child1", "TEXT TEXT1",
+                        "START_ELEMENT child2", "ATTRIBUTE child2key1=", "ATTRIBUTE child2key2=child2value2",
+                        "END_ELEMENT child2", "START_ELEMENT child3", "START_ELEMENT child4", "END_ELEMENT child4",
+                        "START_ELEMENT child5", "TEXT TEXT2", "END_ELEMENT child5", "END_ELEMENT child3",
+                        "END_ELEMENT root", "END_DOCUMENT"));
+    }
+
+    @Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp = "Error in line 6 at column 26:.*")
+    public void testNext1() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml7.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testNext2() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+            reader.next();
+        }
+    }
+
+    @Test
+    public void testNext3() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml7.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            ParseException error = null;
+            while (error == null) {
+                try {
+                    reader.next();
+                } catch (ParseException e) {
+                    error = e;
+                }
+            }
+            // the reader does not continue after an invalid XML structure
+            Assert.assertFalse(reader.hasNext());
+            try {
+                reader.next();
+                Assert.fail();
+            } catch (ParseException e) {
+                Assert.assertSame(e, error);
+            }
+        }
+    }
+
+    @Test
+    public void testIsHtml() throws IOException, ParseException {
+        Path html = Files.createTempFile("xml", null);
+        Files.writeString(html, "<!DOCTYPE html>\n<html />\n");
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(html)) {
+            Assert.assertEquals(reader.next(), XmlEventReader.Event.START_DOCUMENT);
+            Assert.assertTrue(reader.isHtml());
+        } finally {
+            Files.delete(html);
+        }
+    }
+
+    @Test
+    public void testIsHtml1() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            Assert.assertEquals(reader.next(), XmlEventReader.Event.START_DOCUMENT);
+            Assert.assertFalse(reader.isHtml());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetName() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            reader.next();
+            reader.getName();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetValue() throws URISyntaxException, ParseException, IOException {
+        Path xml = Paths.get(Objects.requireNonNull(getClass().getResource("/xml1.xml")).toURI());
+        try (XmlEventReader reader = SimpleXmlParser.createEventReader(xml)) {
+            reader.next();
+            reader.next();
+            reader.getValue();
+        }
+    }
+
+}
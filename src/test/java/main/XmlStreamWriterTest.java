@@ -0,0 +1,168 @@
+package main;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class XmlStreamWriterTest {
+
+    @Test
+    public void testStartElement() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            writer.startElement("root").endElement();
+        }
+        Document document = SimpleXmlParser.createXml();
+        document.addRoot(new Element("root"));
+        Assert.assertEquals(stringWriter.toString(), toString(document));
+    }
+
+    @Test
+    public void testStartElement1() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createHtmlStreamWriter(stringWriter)) {
+            writer.startElement("html").startElement("body").startElement("p").text("text1");
+            writer.startElement("b", true).text("bold").endElement().text("text2").endElement();
+            writer.startElement("p").text("text3").startElement("br").endElement().text("text4").endElement();
+            writer.startElement("p").startElement("i", true).endElement().endElement();
+            writer.endElement().endElement();
+        }
+        Document document = SimpleXmlParser.createHtml();
+        Element body = new Element("body");
+        body.addChild(new Element("p", "text1").addChild(new Element("b", "bold"), true).addChild("text2"));
+        body.addChild(new Element("p", "text3").addChild(new Element("br")).addChild("text4"));
+        body.addChild(new Element("p").addChild(new Element("i"), true));
+        document.addRoot(new Element("html").addChild(body));
+        Assert.assertEquals(stringWriter.toString(), toString(document));
+    }
+
+    @Test
+    public void testStartElement2() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            writer.startElement("a").text("text1").text("text2").startElement("b").endElement().text("text3");
+            writer.startElement("c", true).text("text4").endElement().endElement();
+        }
+        Document document = SimpleXmlParser.createXml();
+        Element root = new Element("a", "text1").addChild("text2").addChild(new Element("b")).addChild("text3");
+        document.addRoot(root.addChild(new Element("c", "text4"), true));
+        Assert.assertEquals(stringWriter.toString(), toString(document));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testStartElement3() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).startElement("a b");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testStartElement4() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).startElement("a").endElement().startElement("b");
+    }
+
+    @Test
+    public void testAttribute() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            writer.startElement("a").attribute("key2", "a&b").attribute("key1").attribute("key2", "<>");
+            writer.startElement("b").attribute("key").text("text").endElement().endElement();
+        }
+        Document document = SimpleXmlParser.createXml();
+        Element root = new Element("a").addAttribute("key2", "a&b").addAttribute("key1").addAttribute("key2", "<>");
+        document.addRoot(root.addChild(new Element("b", "text").addAttribute("key")));
+        Assert.assertEquals(stringWriter.toString(), toString(document));
+    }
+
+    @Test
+    public void testAttribute1() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            writer.setAttributeOrder(AttributeOrder.INSERTION);
+            writer.startElement("a").attribute("key2").attribute("key1").endElement();
+        }
+        Assert.assertEquals(stringWriter.toString(), "<?xml version=\"1.0\" ?>\n<a key2 key1 />\n");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAttribute2() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).startElement("a").text("text").attribute("key");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAttribute3() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).startElement("a").startElement("b").endElement()
+                .attribute("key");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testText() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).startElement("a").text(" ");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testText1() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).text("text");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testEndElement() throws IOException {
+        SimpleXmlParser.createXmlStreamWriter(new StringWriter()).endElement();
+    }
+
+    @Test
+    public void testEndElement1() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            for (int i = 0; i < 100000; i++) {
+                writer.startElement("a", true);
+            }
+            writer.text("text");
+            for (int i = 0; i < 100000; i++) {
+                writer.endElement();
+            }
+        }
+        Assert.assertEquals(stringWriter.toString(),
+                "<?xml version=\"1.0\" ?>\n" + "<a>".repeat(100000) + "text" + "</a>\n".repeat(100000));
+    }
+
+    @Test
+    public void testSetOutputProfile() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stringWriter)) {
+            writer.setOutputProfile(OutputProfile.COMPACT);
+            writer.startElement("a").text("text1").startElement("b").endElement().startElement("c").text("text2");
+            writer.endElement().endElement();
+        }
+        Document document = SimpleXmlParser.createXml();
+        document.setOutputProfile(OutputProfile.COMPACT);
+        document.addRoot(new Element("a", "text1").addChild(new Element("b")).addChild(new Element("c", "text2")));
+        Assert.assertEquals(stringWriter.toString(), toString(document));
+        Assert.assertEquals(stringWriter.toString(), "<?xml version=\"1.0\" ?><a>text1<b /><c>text2</c></a>");
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        SimpleXmlParser.createHtmlStreamWriter(stringWriter).close();
+        Assert.assertEquals(stringWriter.toString(), "<!DOCTYPE html>\n");
+    }
+
+    @Test
+    public void testCreateXmlStreamWriter() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (XmlStreamWriter writer = SimpleXmlParser.createXmlStreamWriter(stream)) {
+            writer.startElement("a").text("äöü").endElement();
+        }
+        Assert.assertEquals(stream.toString(StandardCharsets.UTF_8), "<?xml version=\"1.0\" ?>\n<a>äöü</a>\n");
+    }
+
+    private static String toString(Document document) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        document.toXml(stringWriter);
+        return stringWriter.toString();
+    }
+
+}